@@ -0,0 +1,145 @@
+package com.order.management.ec2ami.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.order.management.ec2ami.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of orders by id, kept coherent across instances by {@link OrderChangeListener}.
+ * <p>
+ * Eviction is Caffeine's W-TinyLFU. Every invalidation records the version it was caused by, so a read that raced
+ * with a change can never put an older version back: entries are only stored when they are at least as new as the
+ * latest change seen for that id.
+ * <p>
+ * The cache is bypassed while the listener is not connected, because changes made meanwhile would be missed.
+ */
+@Component
+public class OrderCache {
+
+  private final Cache<Long, Order> orders;
+
+  // latest version each invalidated id was changed to; kept long enough to outlive any in-flight read
+  private final Cache<Long, Long> changedVersions;
+
+  private final boolean enabled;
+
+  private volatile boolean coherent;
+
+  // bumped on every reset, so reads that started before one never store what they loaded
+  private volatile long generation;
+
+  private final Counter notifiedInvalidations;
+
+  private final Counter localInvalidations;
+
+  private final Counter resets;
+
+  public OrderCache(
+      @Value("${orders.cache.enabled:true}") boolean enabled,
+      @Value("${orders.cache.maximum-size:10000}") long maximumSize,
+      @Value("${orders.cache.expire-after-write:10m}") Duration expireAfterWrite,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.orders = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    this.changedVersions = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+    CaffeineCacheMetrics.monitor(meterRegistry, orders, "orders");
+    this.notifiedInvalidations = invalidationCounter(meterRegistry, "notify");
+    this.localInvalidations = invalidationCounter(meterRegistry, "local");
+    this.resets = invalidationCounter(meterRegistry, "reset");
+  }
+
+  private static Counter invalidationCounter(MeterRegistry meterRegistry, String source) {
+    return Counter.builder("orders.cache.invalidations")
+        .description("Order cache invalidations by source")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached order, or loads it and caches the result unless a newer change is already known.
+   */
+  public Optional<Order> get(Long id, Function<Long, Optional<Order>> loader) {
+    if (!enabled || !coherent) {
+      return loader.apply(id);
+    }
+
+    long readGeneration = generation;
+    Order cached = orders.getIfPresent(id);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    Optional<Order> loaded = loader.apply(id);
+    // checked inside the entry's compute, so a concurrent invalidate(id, version) either sees the stored entry and
+    // drops it, or has already recorded its version and the stale order is never stored
+    loaded.ifPresent(order -> orders.asMap().compute(id, (key, current) -> {
+      Long changedVersion = changedVersions.getIfPresent(key);
+      if (readGeneration != generation || (changedVersion != null && order.getVersion() < changedVersion)) {
+        return current;
+      }
+      return current == null || order.getVersion() >= current.getVersion() ? order : current;
+    }));
+    return loaded;
+  }
+
+  /**
+   * Returns the cached order without loading it.
+   */
+  public Optional<Order> getIfPresent(Long id) {
+    if (!enabled || !coherent) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(orders.getIfPresent(id));
+  }
+
+  /**
+   * Drops the order after a change made by this instance, before the change notification arrives.
+   */
+  public void invalidate(Long id) {
+    orders.invalidate(id);
+    localInvalidations.increment();
+  }
+
+  /**
+   * Drops the order unless the cached copy is already at {@code version} or newer.
+   */
+  void invalidate(Long id, long version) {
+    // recorded before the entry is looked at, see get
+    changedVersions.asMap().merge(id, version, Math::max);
+    orders.asMap().computeIfPresent(id, (key, cached) -> cached.getVersion() >= version ? cached : null);
+    notifiedInvalidations.increment();
+  }
+
+  /**
+   * Drops every entry and starts (or stops) serving from the cache.
+   */
+  void reset(boolean coherent) {
+    this.coherent = false;
+    generation++;
+    orders.invalidateAll();
+    changedVersions.invalidateAll();
+    resets.increment();
+    this.coherent = coherent;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+}
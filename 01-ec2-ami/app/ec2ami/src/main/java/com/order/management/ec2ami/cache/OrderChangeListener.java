@@ -0,0 +1,154 @@
+package com.order.management.ec2ami.cache;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds a dedicated connection that LISTENs on 'orders_changed' and applies every notification to the
+ * {@link OrderCache}. The connection is opened outside the Hikari pool, so it never takes a slot from request
+ * handling.
+ * <p>
+ * Notifications sent while the connection is down are lost, so the cache is switched off on any error and only
+ * switched back on, empty, once LISTEN is active again. A notification that cannot be applied empties the cache, as
+ * the change it stood for is unknown.
+ */
+@Component
+public class OrderChangeListener implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderChangeListener.class);
+
+  static final String CHANNEL = "orders_changed";
+
+  private final OrderCache orderCache;
+
+  private final HikariDataSource dataSource;
+
+  private final Duration pollTimeout;
+
+  private final Duration reconnectDelay;
+
+  private volatile boolean running;
+
+  private volatile Connection connection;
+
+  private Thread thread;
+
+  public OrderChangeListener(
+      OrderCache orderCache,
+      DataSource dataSource,
+      @Value("${orders.cache.listener.poll-timeout:500ms}") Duration pollTimeout,
+      @Value("${orders.cache.listener.reconnect-delay:1s}") Duration reconnectDelay) throws SQLException {
+    this.orderCache = orderCache;
+    this.dataSource = dataSource.unwrap(HikariDataSource.class);
+    this.pollTimeout = pollTimeout;
+    this.reconnectDelay = reconnectDelay;
+  }
+
+  @Override
+  public void start() {
+    if (!orderCache.isEnabled()) {
+      return;
+    }
+    running = true;
+    thread = Thread.ofPlatform()
+        .name("order-change-listener")
+        .daemon()
+        .start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    closeConnection();
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection listenConnection = DriverManager.getConnection(
+          dataSource.getJdbcUrl(), dataSource.getUsername(), dataSource.getPassword())) {
+        connection = listenConnection;
+        try (Statement statement = listenConnection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        orderCache.reset(true);
+        log.info("order cache listening for changes, channel={}", CHANNEL);
+
+        PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              try {
+                apply(notification.getParameter());
+              } catch (RuntimeException ex) {
+                log.warn("order cache dropped all entries, unreadable change notification, payload={}",
+                    notification.getParameter(), ex);
+                orderCache.reset(true);
+              }
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException ex) {
+        // anything that ends the loop is handled like a disconnect: changes may be missed until LISTEN is active again
+        orderCache.reset(false);
+        if (running) {
+          log.warn("order cache listener disconnected, cache bypassed until reconnected", ex);
+          sleep(reconnectDelay);
+        }
+      } finally {
+        connection = null;
+      }
+    }
+    orderCache.reset(false);
+  }
+
+  void apply(String payload) {
+    if (payload.isEmpty()) {
+      orderCache.reset(true);
+      return;
+    }
+    int separator = payload.indexOf(':');
+    orderCache.invalidate(
+        Long.parseLong(payload, 0, separator, 10),
+        Long.parseLong(payload, separator + 1, payload.length(), 10));
+  }
+
+  private void closeConnection() {
+    Connection current = connection;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (SQLException ex) {
+        log.debug("failed to close order cache listener connection", ex);
+      }
+    }
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
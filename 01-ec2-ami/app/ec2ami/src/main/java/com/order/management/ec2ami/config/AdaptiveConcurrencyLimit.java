@@ -0,0 +1,96 @@
+package com.order.management.ec2ami.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight request limit that adapts to observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ * <p>
+ * The limit follows the ratio between the long-term and the recent average latency. While recent latency stays within
+ * {@link #TOLERANCE} of the long-term average, the gradient is 1 and the limit grows by about its square root per
+ * request. Once requests start queueing downstream, typically for a database connection, recent latency rises, the
+ * gradient drops below 1 and the limit shrinks in proportion, down to {@code minLimit}.
+ */
+class AdaptiveConcurrencyLimit {
+
+  private static final double TOLERANCE = 1.5;
+
+  // weight of a new limit estimate, so one slow request does not halve the limit
+  private static final double SMOOTHING = 0.2;
+
+  // exponential moving averages over roughly the last 10 and 600 requests
+  private static final double SHORT_ALPHA = 2.0 / 11;
+
+  private static final double LONG_ALPHA = 2.0 / 601;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile double limit;
+
+  // guarded by this
+  private double shortRtt;
+
+  private double longRtt;
+
+  AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Admits a request if fewer than {@code share} of the limit are in flight, and returns the number in flight
+   * including it; returns -1 if the request must be rejected. Every admitted request must be {@link #release}d.
+   */
+  int tryAcquire(double share) {
+    int current = inFlight.incrementAndGet();
+    if (current > limit * share) {
+      inFlight.decrementAndGet();
+      return -1;
+    }
+    return current;
+  }
+
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Feeds the latency of a completed request, admitted when {@code inFlightAtStart} requests were in flight.
+   */
+  synchronized void onSample(long rttNanos, int inFlightAtStart) {
+    if (longRtt == 0) {
+      shortRtt = rttNanos;
+      longRtt = rttNanos;
+      return;
+    }
+    shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+    longRtt += LONG_ALPHA * (rttNanos - longRtt);
+
+    // after an overload the long-term average is inflated; let it come back down quickly
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    double gradient = Math.clamp(TOLERANCE * longRtt / shortRtt, 0.5, 1.0);
+    // latency is fine but the limit is not being used: growing it would only allow a bigger burst later
+    if (gradient == 1.0 && inFlightAtStart < limit / 2) {
+      return;
+    }
+
+    double estimate = limit * gradient + Math.sqrt(limit);
+    limit = Math.clamp(limit * (1 - SMOOTHING) + estimate * SMOOTHING, minLimit, maxLimit);
+  }
+
+  double getLimit() {
+    return limit;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+}
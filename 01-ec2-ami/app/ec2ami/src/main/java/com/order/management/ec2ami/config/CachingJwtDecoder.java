@@ -0,0 +1,134 @@
+package com.order.management.ec2ami.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers tokens that passed validation, so a client reusing its access token pays for the RSA signature check and
+ * the claim validators once rather than on every request.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the token and kept until the token's {@code exp}, but no longer than
+ * {@code maxTtl}, so a key withdrawn from the JWKS stops being trusted within that time. Only successful decodes are
+ * cached; a rejected token is checked again every time. At most {@code maximumSize} tokens are kept, evicted by
+ * Caffeine's size policy. Expiry is timed by {@code clock}, the same clock the {@code exp} is compared with.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder delegate;
+
+  private final Duration maxTtl;
+
+  private final Clock clock;
+
+  private final Cache<TokenHash, Jwt> cache;
+
+  private final Counter hits;
+
+  private final Counter misses;
+
+  public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, Duration maxTtl, MeterRegistry meterRegistry,
+      Clock clock) {
+    this.delegate = delegate;
+    this.maxTtl = maxTtl;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new UntilExpOrMaxTtl())
+        .ticker(() -> Duration.between(Instant.EPOCH, clock.instant()).toNanos())
+        .executor(Runnable::run)
+        .build();
+    this.hits = Counter.builder("orders.jwt.cache")
+        .description("Bearer tokens decoded, by whether an earlier validation was reused")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("orders.jwt.cache")
+        .description("Bearer tokens decoded, by whether an earlier validation was reused")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("orders.jwt.cache.size", cache, Cache::estimatedSize)
+        .description("Validated tokens held in the cache")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    TokenHash key = TokenHash.of(token);
+
+    Jwt cached = cache.getIfPresent(key);
+    // comparing the token itself makes a hash collision harmless
+    if (cached != null && cached.getTokenValue().equals(token)) {
+      hits.increment();
+      return cached;
+    }
+
+    misses.increment();
+    Jwt jwt = delegate.decode(token);
+    if (timeToLive(jwt) > 0) {
+      cache.put(key, jwt);
+    }
+    return jwt;
+  }
+
+  /**
+   * Nanoseconds until the token's {@code exp}, capped at {@code maxTtl}.
+   */
+  private long timeToLive(Jwt jwt) {
+    Duration ttl = maxTtl;
+    if (jwt.getExpiresAt() != null) {
+      Duration untilExp = Duration.between(clock.instant(), jwt.getExpiresAt());
+      if (untilExp.compareTo(ttl) < 0) {
+        ttl = untilExp;
+      }
+    }
+    return ttl.toNanos();
+  }
+
+  private class UntilExpOrMaxTtl implements Expiry<TokenHash, Jwt> {
+
+    @Override
+    public long expireAfterCreate(TokenHash key, Jwt jwt, long currentTime) {
+      return Math.max(timeToLive(jwt), 0);
+    }
+
+    @Override
+    public long expireAfterUpdate(TokenHash key, Jwt jwt, long currentTime, long currentDuration) {
+      return Math.max(timeToLive(jwt), 0);
+    }
+
+    @Override
+    public long expireAfterRead(TokenHash key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  /**
+   * First 128 bits of the token's SHA-256.
+   */
+  private record TokenHash(long high, long low) {
+
+    static TokenHash of(String token) {
+      try {
+        ByteBuffer digest = ByteBuffer.wrap(
+            MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenHash(digest.getLong(), digest.getLong());
+      } catch (NoSuchAlgorithmException ex) {
+        // every JRE ships SHA-256
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+}
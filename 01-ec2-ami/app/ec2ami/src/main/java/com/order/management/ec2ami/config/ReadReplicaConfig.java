@@ -0,0 +1,72 @@
+package com.order.management.ec2ami.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Optional read replica, enabled by setting {@code orders.datasource.reader.url} (for example the Aurora/RDS reader
+ * endpoint).
+ * <p>
+ * Boot still builds the writer pool from {@code spring.datasource.*}; it is then wrapped so that read-only
+ * transactions are served by a second pool on the reader endpoint.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${orders.datasource.reader.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+  @Bean
+  static BeanPostProcessor readReplicaDataSourcePostProcessor(Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource writer && !(bean instanceof ReadReplicaDataSource)) {
+          return new ReadReplicaDataSource(writer, readerDataSource(environment, writer));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Boot only instruments the writer pool; the reader pool is not a bean, so its {@code hikaricp.*} meters are
+   * registered here, tagged {@code pool=reader}.
+   */
+  @Bean
+  MeterBinder readerPoolMetrics(DataSource dataSource) {
+    return registry -> {
+      if (dataSource instanceof ReadReplicaDataSource routing
+          && routing.getReader() instanceof HikariDataSource reader
+          && reader.getMetricRegistry() == null && reader.getMetricsTrackerFactory() == null) {
+        reader.setMetricRegistry(registry);
+      }
+    };
+  }
+
+  @Bean
+  ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+    return new ReadYourWritesFilter(
+        environment.getProperty("orders.datasource.read-your-writes-window", Duration.class, Duration.ofSeconds(5)),
+        environment.getProperty("orders.datasource.read-your-writes-max-clients", Long.class, 10_000L));
+  }
+
+  private static HikariDataSource readerDataSource(Environment environment, HikariDataSource writer) {
+    HikariDataSource reader = new HikariDataSource();
+    reader.setPoolName("reader");
+    reader.setJdbcUrl(environment.getRequiredProperty("orders.datasource.reader.url"));
+    // same credentials as the writer unless the reader has its own
+    reader.setUsername(environment.getProperty("orders.datasource.reader.username", writer.getUsername()));
+    reader.setPassword(environment.getProperty("orders.datasource.reader.password", writer.getPassword()));
+    reader.setMaximumPoolSize(
+        environment.getProperty("orders.datasource.reader.maximum-pool-size", Integer.class, 10));
+    reader.setDataSourceProperties(writer.getDataSourceProperties());
+    reader.setReadOnly(true);
+    return reader;
+  }
+}
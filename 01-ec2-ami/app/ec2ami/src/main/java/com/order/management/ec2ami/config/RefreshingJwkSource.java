@@ -0,0 +1,197 @@
+package com.order.management.ec2ami.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.net.URI;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * The issuer's signing keys, fetched from its JWKS during startup and refreshed in the background, so no request
+ * waits for issuer discovery or a key download.
+ * <p>
+ * The JWKS location comes from the issuer's {@code /.well-known/openid-configuration}, as with
+ * {@code NimbusJwtDecoder.withIssuerLocation}. Keys are refreshed every {@code refreshInterval}, which picks up a new
+ * key well before a user pool starts signing with it. A token signed with a key that is still unknown triggers an
+ * immediate refresh, at most once per {@link #UNKNOWN_KEY_REFRESH_INTERVAL}, and waits up to
+ * {@link #UNKNOWN_KEY_WAIT} for it. A failed refresh keeps the keys already known.
+ * <p>
+ * As a health indicator, part of the readiness group, it reports {@code OUT_OF_SERVICE} until the first key has been
+ * loaded. If the fetch during startup fails, it is retried every {@code loadRetryInterval} until it succeeds, so an
+ * instance that could not reach the issuer while starting takes no traffic it would only answer with 401.
+ * <p>
+ * Every {@link #start} resolves the JWKS location and fetches the keys again, so a context that is stopped and started
+ * again, for example around a checkpoint, does not rely on what it knew before.
+ */
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, SmartLifecycle, HealthIndicator {
+
+  private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+  private static final Duration UNKNOWN_KEY_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+  private static final Duration UNKNOWN_KEY_WAIT = Duration.ofSeconds(1);
+
+  private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
+
+  private final String issuer;
+
+  private final Duration refreshInterval;
+
+  private final Duration loadRetryInterval;
+
+  private final RestClient restClient;
+
+  private final Executor refreshExecutor = task -> Thread.ofVirtual().name("jwks-refresh").start(task);
+
+  private volatile ScheduledExecutorService scheduler;
+
+  private volatile JWKSet jwkSet = new JWKSet();
+
+  private volatile URI jwkSetUri;
+
+  private volatile boolean running;
+
+  private volatile boolean loaded;
+
+  // guarded by this
+  private CompletableFuture<Void> unknownKeyRefresh = CompletableFuture.completedFuture(null);
+
+  private long unknownKeyRefreshNanos;
+
+  public RefreshingJwkSource(String issuer, Duration refreshInterval) {
+    this(issuer, refreshInterval, Duration.ofSeconds(5));
+  }
+
+  RefreshingJwkSource(String issuer, Duration refreshInterval, Duration loadRetryInterval) {
+    this.issuer = issuer;
+    this.refreshInterval = refreshInterval;
+    this.loadRetryInterval = loadRetryInterval;
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(HTTP_TIMEOUT);
+    requestFactory.setReadTimeout(HTTP_TIMEOUT);
+    this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    this.unknownKeyRefreshNanos = System.nanoTime() - UNKNOWN_KEY_REFRESH_INTERVAL.toNanos();
+  }
+
+  @Override
+  public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+    List<JWK> keys = jwkSelector.select(jwkSet);
+    if (!keys.isEmpty()) {
+      return keys;
+    }
+
+    // most likely a key the issuer has just started using
+    try {
+      refreshForUnknownKey().get(UNKNOWN_KEY_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException ex) {
+      // answer with the keys known so far
+    }
+    return jwkSelector.select(jwkSet);
+  }
+
+  /**
+   * Fetches the JWKS now, resolving its location from the issuer metadata first if not done yet.
+   */
+  void refresh() {
+    try {
+      if (jwkSetUri == null) {
+        jwkSetUri = resolveJwkSetUri();
+      }
+      JWKSet fetched = JWKSet.parse(restClient.get().uri(jwkSetUri).retrieve().body(String.class));
+      jwkSet = fetched.toPublicJWKSet();
+      loaded |= !jwkSet.getKeys().isEmpty();
+      log.debug("JWKS refreshed, keys={}, uri={}", jwkSet.getKeys().size(), jwkSetUri);
+    } catch (RuntimeException | ParseException ex) {
+      log.warn("JWKS refresh failed, keeping {} known keys, issuer={}", jwkSet.getKeys().size(), issuer, ex);
+    }
+  }
+
+  private URI resolveJwkSetUri() {
+    String metadataUri = issuer.replaceAll("/+$", "") + "/.well-known/openid-configuration";
+    Map<?, ?> metadata = restClient.get().uri(metadataUri).retrieve().body(Map.class);
+    if (metadata == null || !issuer.equals(metadata.get("issuer"))
+        || !(metadata.get("jwks_uri") instanceof String uri)) {
+      throw new IllegalStateException("issuer metadata at " + metadataUri + " does not match issuer " + issuer);
+    }
+    return URI.create(uri);
+  }
+
+  private synchronized CompletableFuture<Void> refreshForUnknownKey() {
+    long now = System.nanoTime();
+    if (unknownKeyRefresh.isDone() && now - unknownKeyRefreshNanos >= UNKNOWN_KEY_REFRESH_INTERVAL.toNanos()) {
+      unknownKeyRefreshNanos = now;
+      unknownKeyRefresh = CompletableFuture.runAsync(this::refresh, refreshExecutor);
+    }
+    return unknownKeyRefresh;
+  }
+
+  private void retryLoad() {
+    refresh();
+    if (!loaded && running) {
+      scheduler.schedule(this::retryLoad, loadRetryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Fetches the keys before the web server accepts requests, then keeps them fresh.
+   */
+  @Override
+  public void start() {
+    jwkSetUri = null;
+    refresh();
+    long intervalMillis = refreshInterval.toMillis();
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("jwks-refresh").daemon().factory());
+    running = true;
+    if (!loaded) {
+      log.warn("No signing keys loaded, not ready until the JWKS can be fetched, issuer={}", issuer);
+      scheduler.schedule(this::retryLoad, loadRetryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    scheduler.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public Health health() {
+    return loaded ? Health.up().build() : Health.outOfService().build();
+  }
+
+  /**
+   * Started before the web server, so the first request finds the keys in place.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+}
@@ -1,10 +1,18 @@
 package com.order.management.ec2ami.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,10 +25,11 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
 @Configuration
 @EnableWebSecurity
-@Profile("!test")
+@Profile("!test & !bulk-import")
 public class SecurityConfig {
 
   /**
@@ -28,9 +37,14 @@ public class SecurityConfig {
    */
   @Bean
   JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
-      @Value("${cognito.audience:}") String audience) {
-    // Builds a decoder that fetches JWKS from the issuer's metadata
-    NimbusJwtDecoder decoder = NimbusJwtDecoder.withIssuerLocation(issuer).build();
+      @Value("${cognito.audience:}") String audience,
+      RefreshingJwkSource jwkSource, Environment environment, MeterRegistry meterRegistry) {
+    // Verifies signatures against the JWKS fetched at startup; claims are left to the validators below
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+    });
+    NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
 
     OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
 
@@ -49,11 +63,28 @@ public class SecurityConfig {
       decoder.setJwtValidator(withIssuer);
     }
 
-    return decoder;
+    // Reuse the validation of a token seen before instead of checking its signature again
+    if (!environment.getProperty("orders.jwt.cache.enabled", Boolean.class, true)) {
+      return decoder;
+    }
+    return new CachingJwtDecoder(decoder,
+        environment.getProperty("orders.jwt.cache.maximum-size", Integer.class, 10_000),
+        environment.getProperty("orders.jwt.cache.max-ttl", Duration.class, Duration.ofMinutes(5)),
+        meterRegistry, Clock.systemUTC());
   }
 
+  /**
+   * Issuer discovery and JWKS download happen during startup and then in the background, never on a request.
+   */
   @Bean
-  SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  RefreshingJwkSource jwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+      @Value("${orders.jwt.jwks-refresh-interval:5m}") Duration refreshInterval) {
+    return new RefreshingJwkSource(issuer, refreshInterval);
+  }
+
+  @Bean
+  SecurityFilterChain securityFilterChain(HttpSecurity http, Environment environment, MeterRegistry meterRegistry)
+      throws Exception {
     http
         // Stateless REST API
         .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).csrf(csrf -> csrf.disable())
@@ -61,7 +92,10 @@ public class SecurityConfig {
         // Authorization rules
         .authorizeHttpRequests(auth -> auth
             // Allow ALB/API Gateway health checks
-            .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+
+            // Scraped on the management port, which is not reachable through the load balancer
+            .requestMatchers("/actuator/prometheus").permitAll()
 
             // Optional: keep Swagger locked down (recommended for production)
             // If you want Swagger public, permit these instead.
@@ -73,6 +107,14 @@ public class SecurityConfig {
         // JWT Resource Server
         .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
 
+    // Load shedding once the request is authenticated and authorized, so 401s and 403s take no slot
+    if (environment.getProperty("orders.concurrency-limit.enabled", Boolean.class, true)) {
+      http.addFilterAfter(new ConcurrencyLimitFilter(meterRegistry,
+          environment.getProperty("orders.concurrency-limit.initial", Integer.class, 100),
+          environment.getProperty("orders.concurrency-limit.min", Integer.class, 10),
+          environment.getProperty("orders.concurrency-limit.max", Integer.class, 200)), AuthorizationFilter.class);
+    }
+
     return http.build();
   }
 
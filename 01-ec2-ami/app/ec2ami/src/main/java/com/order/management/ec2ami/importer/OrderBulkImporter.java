@@ -0,0 +1,413 @@
+package com.order.management.ec2ami.importer;
+
+import com.order.management.ec2ami.enums.OrderStatus;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Loads historical orders in bulk, for migrations from the legacy system.
+ * <p>
+ * The file is streamed with COPY into a temporary staging table of plain text columns, so a malformed value never
+ * aborts the load. The staged rows are then validated with one set-based UPDATE that records why a row is rejected,
+ * and the valid rows are inserted into {@code orders} in chunks of {@code orders.import.chunk-size} rows. Each chunk
+ * commits on its own, so the import never holds one huge transaction open. Rejected rows, with their row number and
+ * reason, are written to a CSV file.
+ * <p>
+ * Every chunk records, in the same transaction, how far the file has been merged in {@code order_imports}, keyed by
+ * the SHA-256 of the file. Importing the same file again, after a failure or not, resumes after the last committed
+ * chunk, so no row is inserted twice.
+ * <p>
+ * Orders get new ids from {@code orders_id_seq}, drawn in blocks the way Hibernate's pooled optimizer does: one
+ * {@code nextval} per block of increment-many rows instead of one per row. Inserts do not fire the change notification
+ * trigger, so the near caches of running instances are not flooded.
+ */
+@Component
+public class OrderBulkImporter {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderBulkImporter.class);
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // row_no is the 1-based data row of the file (the CSV header is not counted); COPY fills it in file order
+  private static final String CREATE_STAGING_TABLE = """
+      CREATE TEMP TABLE orders_import (
+          row_no BIGINT GENERATED ALWAYS AS IDENTITY,
+          status TEXT,
+          total_amount TEXT,
+          created_at TEXT,
+          error TEXT
+      )""";
+
+  // HEADER MATCH fails the load unless the header names the columns in this order
+  private static final String COPY_CSV =
+      "COPY orders_import (status, total_amount, created_at) FROM STDIN WITH (FORMAT csv, HEADER MATCH)";
+
+  // NDJSON is converted to CSV while it is read; lines that are not JSON arrive with their error already set
+  private static final String COPY_CONVERTED =
+      "COPY orders_import (status, total_amount, created_at, error) FROM STDIN WITH (FORMAT csv)";
+
+  // the CASE is evaluated in order, so each cast only sees values already known to be valid
+  private static final String VALIDATE = """
+      UPDATE orders_import i SET error = v.error
+      FROM (
+          SELECT row_no, CASE
+              WHEN status IS NULL OR status <> ALL (?) THEN ?
+              WHEN total_amount IS NULL OR NOT pg_input_is_valid(total_amount, 'numeric(19,2)')
+                  THEN 'total_amount is not a decimal number with at most 17 integer digits'
+              WHEN total_amount::numeric(19, 2) <= 0 THEN 'total_amount must be positive'
+              WHEN created_at IS NOT NULL AND NOT pg_input_is_valid(created_at, 'timestamptz')
+                  THEN 'created_at is not a timestamp'
+          END AS error
+          FROM orders_import
+          WHERE error IS NULL
+      ) v
+      WHERE i.row_no = v.row_no AND v.error IS NOT NULL""";
+
+  // each nextval reserves the block of ids up to and including the value returned (see V3); the n-th valid row of the
+  // chunk gets an id from block n / increment
+  private static final String MERGE_CHUNK = """
+      WITH chunk AS (
+          SELECT row_no, status, total_amount, created_at, row_number() OVER (ORDER BY row_no) - 1 AS n
+          FROM orders_import
+          WHERE row_no > ? AND row_no <= ? AND error IS NULL
+      ), blocks AS (
+          SELECT row_number() OVER (ORDER BY last_id) - 1 AS block, last_id
+          FROM (
+              SELECT nextval('orders_id_seq') AS last_id
+              FROM generate_series(1, (SELECT ceil(count(*) / %1$d::numeric)::int FROM chunk))
+          ) b
+      )
+      INSERT INTO orders (id, status, total_amount, created_at, updated_at)
+      SELECT b.last_id - %1$d + 1 + c.n %% %1$d, c.status, c.total_amount::numeric(19, 2),
+             coalesce(c.created_at::timestamptz, now()), coalesce(c.created_at::timestamptz, now())
+      FROM chunk c
+      JOIN blocks b ON b.block = c.n / %1$d
+      ORDER BY c.row_no""";
+
+  private static final String SEQUENCE_INCREMENT =
+      "SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'orders_id_seq'::regclass";
+
+  private static final String CLAIM_IMPORT =
+      "INSERT INTO order_imports (file_sha256) VALUES (?) ON CONFLICT (file_sha256) DO NOTHING";
+
+  private static final String MERGED_ROW_NO = "SELECT merged_row_no FROM order_imports WHERE file_sha256 = ?";
+
+  // only moves on from the row this import started its chunk at, so two imports of one file cannot both merge it
+  private static final String RECORD_PROGRESS = """
+      UPDATE order_imports SET merged_row_no = ?, imported = imported + ?,
+          completed_at = CASE WHEN ? THEN now() END
+      WHERE file_sha256 = ? AND merged_row_no = ?""";
+
+  private static final String COPY_REJECTS = """
+      COPY (
+          SELECT row_no, error, status, total_amount, created_at
+          FROM orders_import
+          WHERE error IS NOT NULL
+          ORDER BY row_no
+      ) TO STDOUT WITH (FORMAT csv, HEADER)""";
+
+  private final DataSource dataSource;
+
+  private final JsonMapper jsonMapper;
+
+  private final int chunkSize;
+
+  private final Duration progressInterval;
+
+  public OrderBulkImporter(
+      DataSource dataSource,
+      JsonMapper jsonMapper,
+      @Value("${orders.import.chunk-size:100000}") int chunkSize,
+      @Value("${orders.import.progress-interval:10s}") Duration progressInterval) {
+    this.dataSource = dataSource;
+    this.jsonMapper = jsonMapper;
+    this.chunkSize = chunkSize;
+    this.progressInterval = progressInterval;
+  }
+
+  /**
+   * Imports every valid row of {@code file} into {@code orders} and writes the rejected ones to {@code rejectsFile}
+   * (only created when something was rejected). Rows merged before a failure stay imported.
+   */
+  public OrderImportResult importOrders(Path file, OrderImportFormat format, Path rejectsFile)
+      throws IOException, SQLException {
+    long started = System.nanoTime();
+    MessageDigest digest = sha256();
+    try (Connection connection = dataSource.getConnection()) {
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(CREATE_STAGING_TABLE);
+      }
+      try {
+        long staged = stage(copyManager, file, format, digest);
+        String fileSha256 = HexFormat.of().formatHex(digest.digest());
+        // the index is built once, after the load, instead of being maintained row by row during COPY
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("CREATE INDEX ON orders_import (row_no)");
+          // autovacuum never analyzes temporary tables
+          statement.execute("ANALYZE orders_import");
+        }
+
+        long rejected = validate(connection);
+        log.info("orders import validated, staged={}, rejected={}", staged, rejected);
+        if (rejected > 0) {
+          try (OutputStream out = Files.newOutputStream(rejectsFile)) {
+            copyManager.copyOut(COPY_REJECTS, out);
+          }
+          log.warn("orders import rejected rows, rejected={}, file={}", rejected, rejectsFile);
+        }
+
+        long imported = merge(connection, fileSha256, staged, staged - rejected);
+        return new OrderImportResult(staged, imported, rejected, Duration.ofNanos(System.nanoTime() - started));
+      } finally {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("DROP TABLE IF EXISTS orders_import");
+        }
+      }
+    }
+  }
+
+  private long stage(CopyManager copyManager, Path file, OrderImportFormat format, MessageDigest digest)
+      throws IOException, SQLException {
+    long size = Files.size(file);
+    ProgressLog progress = new ProgressLog(progressInterval);
+    // the file is hashed as it is read, for the key in order_imports
+    try (CountingInputStream in = new CountingInputStream(new DigestInputStream(Files.newInputStream(file), digest))) {
+      CopyIn copyIn = copyManager.copyIn(format == OrderImportFormat.CSV ? COPY_CSV : COPY_CONVERTED);
+      try {
+        if (format == OrderImportFormat.CSV) {
+          byte[] buffer = new byte[BUFFER_SIZE];
+          int read;
+          while ((read = in.read(buffer)) != -1) {
+            copyIn.writeToCopy(buffer, 0, read);
+            reportStaging(progress, in.count, size);
+          }
+        } else {
+          BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+          StringBuilder rows = new StringBuilder(BUFFER_SIZE + 1024);
+          String line;
+          while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+              continue;
+            }
+            appendCsvRow(rows, line);
+            if (rows.length() >= BUFFER_SIZE) {
+              writeRows(copyIn, rows);
+              reportStaging(progress, in.count, size);
+            }
+          }
+          writeRows(copyIn, rows);
+        }
+        return copyIn.endCopy();
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    }
+  }
+
+  private void appendCsvRow(StringBuilder rows, String line) {
+    JsonNode order;
+    try {
+      order = jsonMapper.readTree(line);
+    } catch (JacksonException ex) {
+      rows.append(",,,\"line is not valid JSON\"\n");
+      return;
+    }
+    appendCsvField(rows, order.path("status")).append(',');
+    appendCsvField(rows, order.path("totalAmount")).append(',');
+    appendCsvField(rows, order.path("createdAt")).append(",\n");
+  }
+
+  private static StringBuilder appendCsvField(StringBuilder rows, JsonNode value) {
+    // an unquoted empty field is NULL to COPY, a quoted one an empty string
+    if (value.isMissingNode() || value.isNull()) {
+      return rows;
+    }
+    return rows.append('"').append(value.asString().replace("\"", "\"\"")).append('"');
+  }
+
+  private static void writeRows(CopyIn copyIn, StringBuilder rows) throws SQLException {
+    byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    rows.setLength(0);
+  }
+
+  private static void reportStaging(ProgressLog progress, long read, long size) {
+    if (progress.isDue()) {
+      log.info("orders import staging, read={}%", size == 0 ? 100 : read * 100 / size);
+    }
+  }
+
+  private static long validate(Connection connection) throws SQLException {
+    // the values orders_status_check allows
+    String[] statuses = Arrays.stream(OrderStatus.values()).map(Enum::name).toArray(String[]::new);
+    try (PreparedStatement statement = connection.prepareStatement(VALIDATE)) {
+      statement.setArray(1, connection.createArrayOf("text", statuses));
+      statement.setString(2, "status must be one of " + String.join(", ", statuses));
+      statement.executeUpdate();
+    }
+    // also counts the NDJSON lines rejected while staging
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT count(*) FROM orders_import WHERE error IS NOT NULL")) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  private long merge(Connection connection, String fileSha256, long staged, long valid) throws SQLException {
+    long resumeAfter = claim(connection, fileSha256);
+    if (resumeAfter > 0) {
+      log.info("orders import resuming, file={}, mergedRows={}, staged={}", fileSha256, resumeAfter, staged);
+    }
+
+    ProgressLog progress = new ProgressLog(progressInterval);
+    long imported = 0;
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert = connection.prepareStatement(MERGE_CHUNK.formatted(sequenceIncrement(connection)));
+        PreparedStatement recordProgress = connection.prepareStatement(RECORD_PROGRESS)) {
+      for (long from = resumeAfter; from < staged; from += chunkSize) {
+        long to = Math.min(from + chunkSize, staged);
+        insert.setLong(1, from);
+        insert.setLong(2, to);
+        int inserted = insert.executeUpdate();
+
+        // every chunk is its own transaction, together with the progress that lets a re-run skip it
+        recordProgress.setLong(1, to);
+        recordProgress.setLong(2, inserted);
+        recordProgress.setBoolean(3, to == staged);
+        recordProgress.setString(4, fileSha256);
+        recordProgress.setLong(5, from);
+        if (recordProgress.executeUpdate() != 1) {
+          connection.rollback();
+          throw new SQLException("orders import of this file is already running elsewhere, file=" + fileSha256);
+        }
+        connection.commit();
+        imported += inserted;
+        if (progress.isDue()) {
+          log.info("orders import merging, imported={}, valid={}", imported, valid);
+        }
+      }
+    } catch (SQLException | RuntimeException ex) {
+      connection.rollback();
+      throw ex;
+    } finally {
+      connection.setAutoCommit(true);
+    }
+    return imported;
+  }
+
+  /**
+   * Registers the import of the file, or finds the earlier one, and returns the last row number already merged.
+   */
+  private static long claim(Connection connection, String fileSha256) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(CLAIM_IMPORT)) {
+      statement.setString(1, fileSha256);
+      statement.executeUpdate();
+    }
+    try (PreparedStatement statement = connection.prepareStatement(MERGED_ROW_NO)) {
+      statement.setString(1, fileSha256);
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getLong(1);
+      }
+    }
+  }
+
+  private static int sequenceIncrement(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(SEQUENCE_INCREMENT)) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  /**
+   * Rate-limits progress lines to one per interval, however fast rows go by.
+   */
+  private static final class ProgressLog {
+
+    private final long intervalNanos;
+
+    private long nextNanos;
+
+    ProgressLog(Duration interval) {
+      this.intervalNanos = interval.toNanos();
+      this.nextNanos = System.nanoTime() + intervalNanos;
+    }
+
+    boolean isDue() {
+      long now = System.nanoTime();
+      if (now - nextNanos < 0) {
+        return false;
+      }
+      nextNanos = now + intervalNanos;
+      return true;
+    }
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.order.management.ec2ami.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Input formats accepted by {@link OrderBulkImporter}.
+ */
+public enum OrderImportFormat {
+
+  /**
+   * A header line {@code status,total_amount,created_at}, then one order per line. {@code created_at} may be empty.
+   */
+  CSV,
+
+  /**
+   * One JSON object per line with {@code status}, {@code totalAmount} and optionally {@code createdAt}, the shape
+   * {@code GET /orders/export} writes.
+   */
+  NDJSON;
+
+  static OrderImportFormat of(Path file) {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    if (name.endsWith(".csv")) {
+      return CSV;
+    }
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+      return NDJSON;
+    }
+    throw new IllegalArgumentException(
+        "cannot tell the format of " + file + " from its name; set orders.import.format to csv or ndjson");
+  }
+}
@@ -0,0 +1,14 @@
+package com.order.management.ec2ami.importer;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one bulk import: rows read from the file, inserted into {@code orders}, and rejected by validation.
+ */
+public record OrderImportResult(long staged, long imported, long rejected, Duration elapsed) {
+
+  public long rowsPerSecond() {
+    long millis = Math.max(elapsed.toMillis(), 1);
+    return staged * 1000 / millis;
+  }
+}
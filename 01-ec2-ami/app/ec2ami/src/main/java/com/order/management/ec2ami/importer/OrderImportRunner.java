@@ -0,0 +1,56 @@
+package com.order.management.ec2ami.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk import mode: with the {@code bulk-import} profile the application starts without a web server, imports
+ * {@code orders.import.file} and exits. A failed import fails startup, so the process exits with a non-zero status.
+ */
+@Component
+@Profile("bulk-import")
+public class OrderImportRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderImportRunner.class);
+
+  private final OrderBulkImporter importer;
+
+  private final Path file;
+
+  private final String format;
+
+  private final String rejectsFile;
+
+  public OrderImportRunner(
+      OrderBulkImporter importer,
+      @Value("${orders.import.file}") Path file,
+      @Value("${orders.import.format:}") String format,
+      @Value("${orders.import.rejects-file:}") String rejectsFile) {
+    this.importer = importer;
+    this.file = file;
+    this.format = format;
+    this.rejectsFile = rejectsFile;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    OrderImportFormat importFormat = format.isBlank()
+        ? OrderImportFormat.of(file)
+        : OrderImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    Path rejects = rejectsFile.isBlank()
+        ? file.resolveSibling(file.getFileName() + ".rejects.csv")
+        : Path.of(rejectsFile);
+
+    log.info("orders import started, file={}, format={}", file, importFormat);
+    OrderImportResult result = importer.importOrders(file, importFormat, rejects);
+    log.info("orders import finished, staged={}, imported={}, rejected={}, elapsed={}, rows/s={}",
+        result.staged(), result.imported(), result.rejected(), result.elapsed(), result.rowsPerSecond());
+  }
+}
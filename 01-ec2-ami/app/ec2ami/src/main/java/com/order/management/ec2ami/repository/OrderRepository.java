@@ -2,11 +2,63 @@ package com.order.management.ec2ami.repository;
 
 import com.order.management.ec2ami.entity.Order;
 import com.order.management.ec2ami.enums.OrderStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
   Page<Order> findAllByStatus(OrderStatus status, Pageable pageable);
+
+  /**
+   * Slices skip the count query; one extra row is fetched to tell whether a next page exists.
+   */
+  Slice<Order> findSliceBy(Pageable pageable);
+
+  Slice<Order> findSliceByStatus(OrderStatus status, Pageable pageable);
+
+  /**
+   * Reads only the version, so a conditional GET can be answered without loading the order.
+   */
+  @Query("select o.version from Order o where o.id = :id")
+  Optional<Long> findVersionById(Long id);
+
+  /**
+   * Keyset page: seeks on the primary key instead of skipping rows, so the cost does not depend on page depth.
+   */
+  List<Order> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+  /**
+   * Keyset page filtered by status; served by the (status, id) index.
+   */
+  List<Order> findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus status, Long afterId, Limit limit);
+
+  /**
+   * Cancels a CREATED order and returns the updated row in the same statement. Empty when the order does not exist
+   * or is not in CREATED state. The version is bumped here, as Hibernate would for a dirty-checked update.
+   */
+  @Query(value = """
+      UPDATE orders
+      SET status = 'CANCELLED', version = version + 1, updated_at = now()
+      WHERE id = :id AND status = 'CREATED'
+      RETURNING *
+      """, nativeQuery = true)
+  Optional<Order> cancelIfCreated(Long id);
+
+  /**
+   * Same as {@link #cancelIfCreated(Long)}, but only while the order is still at one of {@code versions}.
+   */
+  @Query(value = """
+      UPDATE orders
+      SET status = 'CANCELLED', version = version + 1, updated_at = now()
+      WHERE id = :id AND status = 'CREATED' AND version IN (:versions)
+      RETURNING *
+      """, nativeQuery = true)
+  Optional<Order> cancelIfCreatedAtVersion(Long id, Collection<Long> versions);
 }
@@ -0,0 +1,35 @@
+package com.order.management.ec2ami.repository;
+
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.enums.CancelOutcome;
+import com.order.management.ec2ami.enums.OrderStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Order queries that go straight to JDBC instead of through the persistence context.
+ */
+public interface OrderRepositoryCustom {
+
+  /**
+   * Returns the query planner's row estimate for orders, optionally filtered by status. Much cheaper than
+   * {@code count(*)} on a large table, but only as accurate as the table statistics.
+   */
+  long estimateCount(OrderStatus status);
+
+  /**
+   * Cancels every CREATED order among {@code ids} with one set-based UPDATE, without loading entities. Returns the
+   * outcome for each distinct id, in the order given.
+   */
+  Map<Long, CancelOutcome> cancelAll(Collection<Long> ids);
+
+  /**
+   * Passes every order matching the filters, each optional, to {@code action} in {@code (created_at, id)} order,
+   * reading them through a forward-only cursor. Rows are fetched in batches and mapped to detached orders, so memory
+   * stays constant however many rows match. Must run inside a transaction, which PostgreSQL needs to keep the
+   * cursor open. Returns the number of orders passed on.
+   */
+  long forEachOrder(OrderStatus status, Instant createdFrom, Instant createdTo, Consumer<Order> action);
+}
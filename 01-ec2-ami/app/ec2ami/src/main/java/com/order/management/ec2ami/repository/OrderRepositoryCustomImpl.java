@@ -0,0 +1,135 @@
+package com.order.management.ec2ami.repository;
+
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.enums.CancelOutcome;
+import com.order.management.ec2ami.enums.OrderStatus;
+import java.sql.Array;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+  // The outer SELECT sees the table as it was before the UPDATE, so a requested id that exists but was not
+  // updated by this statement is one that was already cancelled.
+  private static final String CANCEL_ALL_SQL = """
+      WITH requested AS (
+          SELECT id FROM unnest(?) AS id
+      ),
+      cancelled AS (
+          UPDATE orders o
+          SET status = 'CANCELLED', version = o.version + 1, updated_at = now()
+          WHERE o.id IN (SELECT id FROM requested) AND o.status = 'CREATED'
+          RETURNING o.id
+      )
+      SELECT r.id,
+             CASE
+                 WHEN c.id IS NOT NULL THEN 'CANCELLED'
+                 WHEN o.id IS NOT NULL THEN 'ALREADY_CANCELLED'
+                 ELSE 'NOT_FOUND'
+             END AS outcome
+      FROM requested r
+      LEFT JOIN cancelled c ON c.id = r.id
+      LEFT JOIN orders o ON o.id = r.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // same DataSource, so it joins the caller's transaction, but rows are fetched in batches instead of all at once
+  private final JdbcTemplate cursorJdbcTemplate;
+
+  OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate, @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    this.cursorJdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  @Override
+  public long estimateCount(OrderStatus status) {
+    // EXPLAIN plans without executing; the status is an enum constant, so inlining it is safe
+    String sql = status == null
+        ? "EXPLAIN (FORMAT JSON) SELECT 1 FROM orders"
+        : "EXPLAIN (FORMAT JSON) SELECT 1 FROM orders WHERE status = '" + status.name() + "'";
+
+    String plan = jdbcTemplate.queryForObject(sql, String.class);
+
+    // the first "Plan Rows" belongs to the top-level plan node
+    Matcher matcher = PLAN_ROWS.matcher(plan == null ? "" : plan);
+    return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+  }
+
+  @Override
+  public Map<Long, CancelOutcome> cancelAll(Collection<Long> ids) {
+    Map<Long, CancelOutcome> outcomes = new LinkedHashMap<>();
+    Long[] distinctIds = new LinkedHashSet<>(ids).toArray(Long[]::new);
+    if (distinctIds.length == 0) {
+      return outcomes;
+    }
+
+    Map<Long, CancelOutcome> results = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        CANCEL_ALL_SQL,
+        ps -> {
+          Array array = ps.getConnection().createArrayOf("bigint", distinctIds);
+          ps.setArray(1, array);
+        },
+        rs -> {
+          results.put(rs.getLong("id"), CancelOutcome.valueOf(rs.getString("outcome")));
+        }
+    );
+
+    // report in request order regardless of the order rows came back in
+    for (Long id : distinctIds) {
+      outcomes.put(id, results.get(id));
+    }
+    return outcomes;
+  }
+
+  @Override
+  public long forEachOrder(OrderStatus status, Instant createdFrom, Instant createdTo, Consumer<Order> action) {
+    StringBuilder sql = new StringBuilder(
+        "SELECT id, version, status, total_amount, created_at, updated_at FROM orders WHERE true");
+    List<Object> args = new ArrayList<>();
+    if (status != null) {
+      sql.append(" AND status = ?");
+      args.add(status.name());
+    }
+    if (createdFrom != null) {
+      sql.append(" AND created_at >= ?");
+      args.add(OffsetDateTime.ofInstant(createdFrom, ZoneOffset.UTC));
+    }
+    if (createdTo != null) {
+      sql.append(" AND created_at < ?");
+      args.add(OffsetDateTime.ofInstant(createdTo, ZoneOffset.UTC));
+    }
+    // (created_at, id) and (status, created_at, id) return rows in this order, so nothing is sorted up front
+    sql.append(" ORDER BY created_at, id");
+
+    long[] count = {0};
+    cursorJdbcTemplate.query(sql.toString(), rs -> {
+      Order order = new Order();
+      order.setId(rs.getLong("id"));
+      order.setVersion(rs.getLong("version"));
+      order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+      order.setTotalAmount(rs.getBigDecimal("total_amount"));
+      order.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant());
+      order.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+      action.accept(order);
+      count[0]++;
+    }, args.toArray());
+    return count[0];
+  }
+}
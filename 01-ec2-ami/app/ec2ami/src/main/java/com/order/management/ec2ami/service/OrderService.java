@@ -1,22 +1,38 @@
 package com.order.management.ec2ami.service;
 
+import com.order.management.ec2ami.cache.OrderCache;
 import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.enums.CancelOutcome;
 import com.order.management.ec2ami.enums.OrderStatus;
 import com.order.management.ec2ami.repository.OrderRepository;
 import com.order.management.ec2ami.service.exception.OrderNotFoundException;
+import com.order.management.ec2ami.service.exception.OrderVersionMismatchException;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class OrderService {
 
   private final OrderRepository orderRepository;
 
-  public OrderService(OrderRepository orderRepository) {
+  private final OrderCache orderCache;
+
+  public OrderService(OrderRepository orderRepository, OrderCache orderCache) {
     this.orderRepository = orderRepository;
+    this.orderCache = orderCache;
   }
 
   @Transactional
@@ -29,25 +45,90 @@ public class OrderService {
     return orderRepository.save(order);
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * Creates all orders in one transaction. Ids come from the pooled sequence, so the inserts are flushed as JDBC
+   * batches at commit instead of one round trip per order.
+   */
+  @Transactional
+  public List<Order> createOrders(List<BigDecimal> totalAmounts) {
+
+    List<Order> orders = totalAmounts.stream()
+        .map(totalAmount -> {
+          Order order = new Order();
+          order.setTotalAmount(totalAmount);
+          order.setStatus(OrderStatus.CREATED);
+          return order;
+        })
+        .toList();
+
+    return orderRepository.saveAll(orders);
+  }
+
+  /**
+   * Served from the near cache when possible. Not transactional, so a cache hit never takes a pooled connection;
+   * a miss runs in the repository's own read-only transaction.
+   */
   public Order getOrder(Long id) {
 
-    return orderRepository.findById(id)
+    return orderCache.get(id, orderRepository::findById)
+        .orElseThrow(() -> new OrderNotFoundException(id));
+  }
+
+  /**
+   * Answered from the near cache when the order is there, otherwise with a version-only query.
+   */
+  public long getOrderVersion(Long id) {
+
+    return orderCache.getIfPresent(id)
+        .map(Order::getVersion)
+        .or(() -> orderRepository.findVersionById(id))
         .orElseThrow(() -> new OrderNotFoundException(id));
   }
 
   @Transactional
   public Order cancelOrder(Long id) {
 
-    Order order = orderRepository.findById(id)
+    // Cancelling a CREATED order is a single UPDATE ... RETURNING. Only when nothing was updated do we look the
+    // order up, to tell an already cancelled order (returned as is) from a missing one.
+    invalidateAfterCommit(List.of(id));
+    return orderRepository.cancelIfCreated(id)
+        .or(() -> orderRepository.findById(id))
         .orElseThrow(() -> new OrderNotFoundException(id));
+  }
+
+  /**
+   * Cancels the order only if it is still at one of {@code expectedVersions}. An order that is already cancelled at
+   * an expected version is returned as is; any other version fails with {@link OrderVersionMismatchException}.
+   */
+  @Transactional
+  public Order cancelOrder(Long id, Collection<Long> expectedVersions) {
+
+    invalidateAfterCommit(List.of(id));
+    Optional<Order> cancelled = expectedVersions.isEmpty()
+        ? Optional.empty()
+        : orderRepository.cancelIfCreatedAtVersion(id, expectedVersions);
 
-    if (order.getStatus() == OrderStatus.CANCELLED) {
+    return cancelled.orElseGet(() -> {
+      Order order = orderRepository.findById(id)
+          .orElseThrow(() -> new OrderNotFoundException(id));
+      if (!expectedVersions.contains(order.getVersion())) {
+        throw new OrderVersionMismatchException(id, order.getVersion());
+      }
       return order;
-    }
+    });
+  }
 
-    order.setStatus(OrderStatus.CANCELLED);
-    return orderRepository.save(order);
+  /**
+   * Cancels many orders with a single UPDATE statement; entities are never loaded.
+   */
+  @Transactional
+  public Map<Long, CancelOutcome> cancelOrders(List<Long> ids) {
+    Map<Long, CancelOutcome> outcomes = orderRepository.cancelAll(ids);
+    invalidateAfterCommit(outcomes.entrySet().stream()
+        .filter(e -> e.getValue() == CancelOutcome.CANCELLED)
+        .map(Map.Entry::getKey)
+        .toList());
+    return outcomes;
   }
 
   @Transactional(readOnly = true)
@@ -57,4 +138,56 @@ public class OrderService {
     }
     return orderRepository.findAllByStatus(status, pageable);
   }
+
+  @Transactional(readOnly = true)
+  public Slice<Order> getOrderSlice(OrderStatus status, Pageable pageable) {
+    if (status == null) {
+      return orderRepository.findSliceBy(pageable);
+    }
+    return orderRepository.findSliceByStatus(status, pageable);
+  }
+
+  @Transactional(readOnly = true)
+  public long estimateOrderCount(OrderStatus status) {
+    return orderRepository.estimateCount(status);
+  }
+
+  /**
+   * Returns up to {@code limit} orders with an id greater than {@code afterId}, ordered by id. A {@code null}
+   * {@code afterId} starts from the beginning.
+   */
+  @Transactional(readOnly = true)
+  public List<Order> getOrdersAfter(OrderStatus status, Long afterId, int limit) {
+    Long from = afterId == null ? 0L : afterId;
+    if (status == null) {
+      return orderRepository.findByIdGreaterThanOrderByIdAsc(from, Limit.of(limit));
+    }
+    return orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, from, Limit.of(limit));
+  }
+
+  /**
+   * Streams every order matching the optional filters to {@code action}, oldest first, and returns how many there
+   * were. Orders are read with a JDBC cursor and never enter the persistence context or the cache. The read-only
+   * transaction exists only for the cursor and lasts as long as {@code action} keeps consuming.
+   */
+  @Transactional(readOnly = true)
+  public long exportOrders(OrderStatus status, Instant createdFrom, Instant createdTo, Consumer<Order> action) {
+    return orderRepository.forEachOrder(status, createdFrom, createdTo, action);
+  }
+
+  /**
+   * Other instances learn about the change from the database notification; this instance drops its own copy as
+   * soon as the change is visible, so a read right after a write never sees the old state.
+   */
+  private void invalidateAfterCommit(List<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        ids.forEach(orderCache::invalidate);
+      }
+    });
+  }
 }
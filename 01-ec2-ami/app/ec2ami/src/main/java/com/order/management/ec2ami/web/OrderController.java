@@ -2,45 +2,78 @@ package com.order.management.ec2ami.web;
 
 import com.order.management.ec2ami.entity.Order;
 import com.order.management.ec2ami.enums.OrderStatus;
+import com.order.management.ec2ami.metrics.OrderMetrics;
 import com.order.management.ec2ami.service.OrderService;
+import com.order.management.ec2ami.web.cursor.OrderCursor;
+import com.order.management.ec2ami.web.dto.CancelOrderResult;
+import com.order.management.ec2ami.web.dto.CancelOrdersRequest;
 import com.order.management.ec2ami.web.dto.CreateOrderRequest;
+import com.order.management.ec2ami.web.dto.CreateOrdersBatchRequest;
+import com.order.management.ec2ami.web.dto.OrderCursorPage;
+import com.order.management.ec2ami.web.dto.OrderEstimatedPage;
 import com.order.management.ec2ami.web.dto.OrderResponse;
+import com.order.management.ec2ami.web.etag.OrderETag;
 import com.order.management.ec2ami.web.mapper.OrderMapper;
+import com.order.management.ec2ami.web.sort.OrderSort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springdoc.core.converters.models.PageableAsQueryParam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
 @Tag(name = "Orders", description = "Operations related to orders")
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+  static final int MAX_SCROLL_SIZE = 1000;
+
   private final OrderService orderService;
 
-  public OrderController(OrderService orderService) {
+  private final OrderMetrics orderMetrics;
+
+  private final JsonMapper jsonMapper;
+
+  public OrderController(OrderService orderService, OrderMetrics orderMetrics, JsonMapper jsonMapper) {
     this.orderService = orderService;
+    this.orderMetrics = orderMetrics;
+    this.jsonMapper = jsonMapper;
   }
 
   @PostMapping
@@ -65,7 +98,7 @@ public class OrderController {
       @RequestBody @Valid CreateOrderRequest request,
       UriComponentsBuilder uriComponentsBuilder) {
 
-    Order order = orderService.createOrder(request.totalAmount());
+    Order order = orderMetrics.record("create", () -> orderService.createOrder(request.totalAmount()));
 
     return ResponseEntity.created(
         uriComponentsBuilder.path("/orders/{id}")
@@ -74,28 +107,83 @@ public class OrderController {
     ).body(OrderMapper.toResponse(order));
   }
 
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Create orders in bulk",
+      description = "Creates up to " + CreateOrdersBatchRequest.MAX_ORDERS
+          + " orders in one transaction and returns them in request order."
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "201",
+          description = "Orders created",
+          content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResponse.class)))
+      ),
+      @ApiResponse(responseCode = "400", description = "Validation error", content = @Content)
+  })
+  public ResponseEntity<List<OrderResponse>> createOrders(
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          description = "Batch order creation payload",
+          content = @Content(schema = @Schema(implementation = CreateOrdersBatchRequest.class))
+      )
+      @RequestBody @Valid CreateOrdersBatchRequest request) {
+
+    List<Order> orders = orderMetrics.record("create_batch", () -> orderService.createOrders(
+        request.orders().stream().map(CreateOrderRequest::totalAmount).toList()));
+
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(orders.stream().map(OrderMapper::toResponse).toList());
+  }
+
   @GetMapping("/{id}")
-  @Operation(summary = "Get an order by id")
+  @Operation(
+      summary = "Get an order by id",
+      description = """
+        The response carries a strong ETag derived from the order's version. Send it back in If-None-Match to get
+        304 Not Modified, without a body, while the order is unchanged.
+        """
+  )
   @ApiResponses({
       @ApiResponse(
           responseCode = "200",
           description = "Order found",
           content = @Content(schema = @Schema(implementation = OrderResponse.class))
       ),
+      @ApiResponse(responseCode = "304", description = "Order unchanged since the given ETag", content = @Content),
       @ApiResponse(responseCode = "404", description = "Order not found", content = @Content)
   })
   public ResponseEntity<OrderResponse> getOrder(
-      @Parameter(description = "Order id", example = "123") @PathVariable Long id) {
+      @Parameter(description = "Order id", example = "123") @PathVariable Long id,
+
+      @Parameter(description = "ETag of a previously fetched representation", example = "\"0\"")
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-    Order order = orderService.getOrder(id);
+    // a poller usually already has the current version; only the version column is read to confirm that
+    if (ifNoneMatch != null) {
+      long version = orderMetrics.record("get_version", () -> orderService.getOrderVersion(id));
+      if (OrderETag.noneMatchHits(ifNoneMatch, version)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(OrderETag.format(version))
+            .build();
+      }
+    }
 
-    return ResponseEntity.ok(OrderMapper.toResponse(order));
+    Order order = orderMetrics.record("get", () -> orderService.getOrder(id));
+
+    return ResponseEntity.ok()
+        .eTag(OrderETag.format(order.getVersion()))
+        .body(OrderMapper.toResponse(order));
   }
 
   @PutMapping("/{id}/cancel")
   @Operation(
       summary = "Cancel an order",
-      description = "Cancels an existing order by id"
+      description = """
+        Cancels an existing order by id.
+
+        Send the order's ETag in If-Match to cancel only if nobody changed the order since it was read.
+        """
   )
   @ApiResponses({
       @ApiResponse(
@@ -120,15 +208,56 @@ public class OrderController {
           )
       ),
       @ApiResponse(responseCode = "404", description = "Order not found", content = @Content),
-      @ApiResponse(responseCode = "409", description = "Order cannot be canceled in its current state", content = @Content)
+      @ApiResponse(responseCode = "409", description = "Order cannot be canceled in its current state", content = @Content),
+      @ApiResponse(responseCode = "412", description = "Order changed since the given ETag", content = @Content)
   })
   public ResponseEntity<OrderResponse> cancelOrder(
       @Parameter(description = "Order id", example = "123")
-      @PathVariable Long id) {
+      @PathVariable Long id,
+
+      @Parameter(description = "Expected ETag of the order", example = "\"0\"")
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+    Order canceledOrder = orderMetrics.record("cancel", () -> OrderETag.matchesAny(ifMatch)
+        ? orderService.cancelOrder(id)
+        : orderService.cancelOrder(id, OrderETag.versions(ifMatch)));
+
+    return ResponseEntity.ok()
+        .eTag(OrderETag.format(canceledOrder.getVersion()))
+        .body(OrderMapper.toResponse(canceledOrder));
+  }
+
+  @PostMapping("/cancel")
+  @Operation(
+      summary = "Cancel orders in bulk",
+      description = "Cancels up to " + CancelOrdersRequest.MAX_IDS + " orders with a single database statement"
+          + " and reports the outcome for each id: CANCELLED, ALREADY_CANCELLED or NOT_FOUND."
+          + " Duplicate ids are reported once."
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Outcome per requested id",
+          content = @Content(array = @ArraySchema(schema = @Schema(implementation = CancelOrderResult.class)))
+      ),
+      @ApiResponse(responseCode = "400", description = "Validation error", content = @Content)
+  })
+  public ResponseEntity<List<CancelOrderResult>> cancelOrders(
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          description = "Ids of the orders to cancel",
+          content = @Content(schema = @Schema(implementation = CancelOrdersRequest.class))
+      )
+      @RequestBody @Valid CancelOrdersRequest request) {
 
-    Order canceledOrder = orderService.cancelOrder(id);
+    List<CancelOrderResult> results = orderMetrics
+        .record("cancel_bulk", () -> orderService.cancelOrders(request.ids()))
+        .entrySet()
+        .stream()
+        .map(e -> new CancelOrderResult(e.getKey(), e.getValue()))
+        .toList();
 
-    return ResponseEntity.ok(OrderMapper.toResponse(canceledOrder));
+    return ResponseEntity.ok(results);
   }
 
   @GetMapping
@@ -141,6 +270,11 @@ public class OrderController {
         - page=0
         - size=20
         - sort=id,asc
+
+        Sortable by id or createdAt (ties broken by id); other sort properties are rejected with 400.
+
+        The total is computed with a count query on every request. Use total=none to skip it,
+        or total=estimated for an approximate total.
         """
   )
   @ApiResponses({
@@ -163,9 +297,192 @@ public class OrderController {
       @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
       Pageable pageable
   ) {
-    Page<OrderResponse> page = orderService.getOrders(status, pageable)
+    Pageable indexed = OrderSort.indexed(pageable);
+    Page<OrderResponse> page = orderMetrics.record("list", () -> orderService.getOrders(status, indexed))
         .map(OrderMapper::toResponse);
 
     return ResponseEntity.ok(page);
   }
+
+  @GetMapping(params = "total=none")
+  @Operation(
+      summary = "List orders without a total",
+      description = """
+        Same as listing orders, but no count query is run; the response only tells whether a next page exists.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Slice of orders returned"
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  @PageableAsQueryParam
+  public ResponseEntity<Slice<OrderResponse>> listOrdersWithoutTotal(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @ParameterObject
+      @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
+      Pageable pageable
+  ) {
+    Pageable indexed = OrderSort.indexed(pageable);
+    Slice<OrderResponse> slice = orderMetrics
+        .record("list_slice", () -> orderService.getOrderSlice(status, indexed))
+        .map(OrderMapper::toResponse);
+
+    return ResponseEntity.ok(slice);
+  }
+
+  @GetMapping(params = "total=estimated")
+  @Operation(
+      summary = "List orders with an estimated total",
+      description = """
+        Same as listing orders, but the total is the query planner's row estimate instead of an exact count.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Page of orders with an estimated total returned",
+          content = @Content(schema = @Schema(implementation = OrderEstimatedPage.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  @PageableAsQueryParam
+  public ResponseEntity<OrderEstimatedPage> listOrdersWithEstimatedTotal(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @ParameterObject
+      @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
+      Pageable pageable
+  ) {
+    Pageable indexed = OrderSort.indexed(pageable);
+    Slice<Order> slice = orderMetrics.record("list_slice", () -> orderService.getOrderSlice(status, indexed));
+
+    // stale statistics can undershoot; never report fewer orders than this request has already seen
+    long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+    long estimatedTotal = Math.max(
+        orderMetrics.record("estimate_count", () -> orderService.estimateOrderCount(status)), seen);
+
+    return ResponseEntity.ok(new OrderEstimatedPage(
+        slice.getContent().stream().map(OrderMapper::toResponse).toList(),
+        slice.getNumber(),
+        slice.getSize(),
+        slice.hasNext(),
+        estimatedTotal
+    ));
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll through orders with a cursor",
+      description = """
+        Keyset pagination over orders ordered by id ascending, optionally filtered by status.
+        Unlike page/offset listing, every page costs the same no matter how deep it is.
+
+        Omit 'after' for the first page, then pass the returned nextCursor as 'after'.
+        nextCursor is null on the last page.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Orders after the cursor returned",
+          content = @Content(schema = @Schema(implementation = OrderCursorPage.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or query parameter", content = @Content)
+  })
+  public ResponseEntity<OrderCursorPage> scrollOrders(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+      @RequestParam(name = "after", required = false) String after,
+
+      @Parameter(description = "Page size", example = "20")
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size
+  ) {
+    // fetch one extra row to learn whether another page exists without counting
+    Long afterId = OrderCursor.decode(after);
+    List<Order> orders = orderMetrics.record("scroll", () -> orderService.getOrdersAfter(status, afterId, size + 1));
+
+    boolean hasNext = orders.size() > size;
+    List<Order> content = hasNext ? orders.subList(0, size) : orders;
+    String nextCursor = hasNext ? OrderCursor.encode(content.getLast().getId()) : null;
+
+    return ResponseEntity.ok(new OrderCursorPage(
+        content.stream().map(OrderMapper::toResponse).toList(),
+        size,
+        nextCursor
+    ));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Export orders as NDJSON",
+      description = """
+        Streams every matching order as one JSON object per line (application/x-ndjson), oldest first.
+        All filters are optional; createdFrom is inclusive and createdTo exclusive.
+
+        Orders are read from the database with a cursor and written as they arrive, so one request replaces
+        paging through GET /orders, and memory use does not grow with the number of orders.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Orders streamed",
+          content = @Content(
+              mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = OrderResponse.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  public void exportOrders(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @Parameter(description = "Only orders created at or after this instant", example = "2026-01-01T00:00:00Z")
+      @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+
+      @Parameter(description = "Only orders created before this instant", example = "2026-01-02T00:00:00Z")
+      @RequestParam(name = "createdTo", required = false) Instant createdTo,
+
+      HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    OutputStream out = response.getOutputStream();
+    ObjectWriter writer = jsonMapper.writerFor(OrderResponse.class);
+
+    // each line goes straight to the response buffer, which Tomcat flushes to the client as it fills
+    orderMetrics.record("export", () -> orderService.exportOrders(status, createdFrom, createdTo,
+        order -> {
+          try {
+            out.write(writer.writeValueAsBytes(OrderMapper.toResponse(order)));
+            out.write('\n');
+          } catch (IOException ex) {
+            // typically the client went away; ends the query and releases the connection
+            throw new UncheckedIOException(ex);
+          }
+        }));
+  }
 }
@@ -0,0 +1,8 @@
+package com.order.management.ec2ami.web.cursor;
+
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String cursor) {
+    super("Invalid cursor: " + cursor);
+  }
+}
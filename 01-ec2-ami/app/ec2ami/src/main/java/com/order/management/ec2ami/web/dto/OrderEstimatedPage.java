@@ -0,0 +1,24 @@
+package com.order.management.ec2ami.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record OrderEstimatedPage(
+
+    @NotNull
+    List<OrderResponse> content,
+
+    @Schema(example = "0")
+    int number,
+
+    @Schema(example = "20")
+    int size,
+
+    @Schema(description = "Whether a next page exists")
+    boolean hasNext,
+
+    @Schema(description = "Approximate number of matching orders, taken from the query planner", example = "125000")
+    long estimatedTotal) {
+
+}
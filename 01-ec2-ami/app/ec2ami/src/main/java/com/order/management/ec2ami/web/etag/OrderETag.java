@@ -0,0 +1,72 @@
+package com.order.management.ec2ami.web.etag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags for orders, derived from the optimistic-locking version: {@code "3"} for version 3. Every change
+ * to an order bumps its version, so the tag changes exactly when the representation does.
+ */
+public final class OrderETag {
+
+  private static final String WILDCARD = "*";
+
+  private static final String WEAK_PREFIX = "W/";
+
+  private OrderETag() {
+
+  }
+
+  public static String format(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Whether an If-None-Match header matches the given version. Uses weak comparison, as If-None-Match requires.
+   */
+  public static boolean noneMatchHits(String ifNoneMatch, long version) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    if (ifNoneMatch.trim().equals(WILDCARD)) {
+      return true;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String opaque = tag.trim();
+      if (opaque.startsWith(WEAK_PREFIX)) {
+        opaque = opaque.substring(WEAK_PREFIX.length());
+      }
+      if (opaque.equals(format(version))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether an If-Match header places no constraint on the version: absent, or {@code *}.
+   */
+  public static boolean matchesAny(String ifMatch) {
+    return ifMatch == null || ifMatch.trim().equals(WILDCARD);
+  }
+
+  /**
+   * The versions listed in an If-Match header. Weak and malformed tags are left out, because If-Match uses strong
+   * comparison and they can never match.
+   */
+  public static List<Long> versions(String ifMatch) {
+    List<Long> versions = new ArrayList<>();
+    for (String tag : ifMatch.split(",")) {
+      String opaque = tag.trim();
+      if (opaque.length() < 3 || !opaque.startsWith("\"") || !opaque.endsWith("\"")) {
+        continue;
+      }
+      try {
+        versions.add(Long.parseLong(opaque, 1, opaque.length() - 1, 10));
+      } catch (NumberFormatException ex) {
+        // not one of ours
+      }
+    }
+    return versions;
+  }
+}
@@ -0,0 +1,8 @@
+package com.order.management.ec2ami.web.sort;
+
+public class InvalidSortException extends RuntimeException {
+
+  public InvalidSortException(String message) {
+    super("Invalid sort: " + message);
+  }
+}
@@ -0,0 +1,3 @@
+-- Backs keyset pagination filtered by status: WHERE status = ? AND id > ? ORDER BY id
+-- CONCURRENTLY keeps writes going while the index builds; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY orders_status_id_idx ON orders (status, id);
@@ -0,0 +1,29 @@
+-- Publishes every change to an existing order on the 'orders_changed' channel so that each instance can drop it from
+-- its near cache. The payload is '<id>:<version>'. Notifications are delivered on commit and never for rolled back
+-- transactions. Inserts are not published: only orders that were already read can be cached.
+CREATE FUNCTION notify_order_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('orders_changed', OLD.id || ':' || (OLD.version + 1));
+    ELSE
+        PERFORM pg_notify('orders_changed', NEW.id || ':' || NEW.version);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_notify_changed
+    AFTER UPDATE OR DELETE ON orders
+    FOR EACH ROW EXECUTE FUNCTION notify_order_changed();
+
+-- TRUNCATE has no rows to report; an empty payload tells listeners to drop everything.
+CREATE FUNCTION notify_orders_truncated() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('orders_changed', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_notify_truncated
+    AFTER TRUNCATE ON orders
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_orders_truncated();
@@ -0,0 +1,6 @@
+-- Back the sort orders allowed for GET /orders (see OrderSort), so a page is read in index order instead of sorting
+-- the table: ORDER BY created_at, id with or without WHERE status = ?. Ordering by id is already covered by the
+-- primary key and orders_status_id_idx.
+-- CONCURRENTLY keeps writes going while the indexes build; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY orders_created_at_id_idx ON orders (created_at, id);
+CREATE INDEX CONCURRENTLY orders_status_created_at_id_idx ON orders (status, created_at, id);
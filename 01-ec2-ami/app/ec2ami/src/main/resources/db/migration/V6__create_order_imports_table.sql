@@ -0,0 +1,10 @@
+-- Progress of bulk imports (see OrderBulkImporter), keyed by the SHA-256 of the imported file. Each merged chunk
+-- moves merged_row_no forward in the same transaction, so importing the file again resumes after the last chunk
+-- that committed instead of inserting its rows twice.
+CREATE TABLE order_imports (
+    file_sha256 TEXT PRIMARY KEY,
+    merged_row_no BIGINT NOT NULL DEFAULT 0,
+    imported BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    completed_at TIMESTAMPTZ
+);
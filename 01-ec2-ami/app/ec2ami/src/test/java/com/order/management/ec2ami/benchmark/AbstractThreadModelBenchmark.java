@@ -0,0 +1,193 @@
+package com.order.management.ec2ami.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ec2ami.AbstractEc2amiApplicationTests;
+import com.order.management.ec2ami.config.TestSecurityConfig;
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.service.OrderService;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Closed-loop load against a real Tomcat: {@code CONCURRENCY} clients hammer GET /orders/{id} and POST /orders, and
+ * throughput plus latency percentiles are printed per scenario. Subclasses pick the thread model. Pinned virtual
+ * threads are watched through the JFR {@code jdk.VirtualThreadPinned} event.
+ *
+ * <p>Not part of the regular test run; use {@code ./mvnw -Pbenchmark test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestSecurityConfig.class)
+// same pool for both thread models, so only the request execution differs; the near cache is off so that
+// GET /orders/{id} really goes to the database, and load shedding so that the deliberate overload reaches it
+@TestPropertySource(properties = {
+    "spring.datasource.hikari.maximum-pool-size=20",
+    "orders.cache.enabled=false",
+    "orders.concurrency-limit.enabled=false"
+})
+abstract class AbstractThreadModelBenchmark extends AbstractEc2amiApplicationTests {
+
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+  private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+  private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.measurement-seconds", 30));
+  private static final int SEEDED_ORDERS = 1000;
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+
+  @Value("${local.server.port}")
+  private int port;
+
+  @Autowired
+  private OrderService orderService;
+
+  protected abstract String threadModel();
+
+  @Test
+  void getAndCreateOrders_underHighConcurrency() throws Exception {
+
+    List<Long> ids = orderService.createOrders(Collections.nCopies(SEEDED_ORDERS, new BigDecimal("10.00")))
+        .stream()
+        .map(Order::getId)
+        .toList();
+
+    HttpRequest create = HttpRequest.newBuilder(uri("/orders"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{ \"totalAmount\": 49.99 }"))
+        .build();
+
+    LongAdder pinnedEvents = new LongAdder();
+    Map<String, Long> pinnedAt = new ConcurrentHashMap<>();
+
+    try (RecordingStream pinning = new RecordingStream()) {
+      pinning.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+      pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+        pinnedEvents.increment();
+        pinnedAt.merge(pinnedFrame(event.getStackTrace()), 1L, Long::sum);
+      });
+      pinning.startAsync();
+
+      Scenario get = () -> client.send(
+          HttpRequest.newBuilder(uri("/orders/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))).build(),
+          HttpResponse.BodyHandlers.discarding()).statusCode();
+      Scenario post = () -> client.send(create, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+      run(get, WARMUP);
+      report("GET /orders/{id}", run(get, MEASUREMENT));
+
+      run(post, WARMUP);
+      report("POST /orders", run(post, MEASUREMENT));
+    }
+
+    System.out.printf("[%s] pinned virtual thread events: %d%n", threadModel(), pinnedEvents.sum());
+    pinnedAt.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(5)
+        .forEach(e -> System.out.printf("[%s]   %6d x %s%n", threadModel(), e.getValue(), e.getKey()));
+  }
+
+  private Result run(Scenario scenario, Duration duration) throws InterruptedException {
+    long deadline = System.nanoTime() + duration.toNanos();
+    LongAdder errors = new LongAdder();
+    List<LongStream.Builder> latencies = new ArrayList<>();
+
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        LongStream.Builder samples = LongStream.builder();
+        latencies.add(samples);
+        clients.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            long requestStart = System.nanoTime();
+            int status = scenario.send();
+            if (status < 400) {
+              samples.add(System.nanoTime() - requestStart);
+            } else {
+              errors.increment();
+            }
+          }
+          return null;
+        });
+      }
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    long[] sorted = latencies.stream().flatMapToLong(LongStream.Builder::build).sorted().toArray();
+    assertThat(errors.sum()).isZero();
+    return new Result(sorted, elapsed);
+  }
+
+  private void report(String scenario, Result result) {
+    System.out.printf("[%s] %-18s requests=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms p99.9=%.2f ms%n",
+        threadModel(), scenario, result.latencies().length, result.throughput(),
+        result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9));
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  // first driver or pool frame if there is one, since that is where pinning would hurt
+  private static String pinnedFrame(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "<no stack trace>";
+    }
+    RecordedFrame top = stackTrace.getFrames().getFirst();
+    return stackTrace.getFrames().stream()
+        .filter(f -> f.getMethod().getType().getName().startsWith("org.postgresql")
+            || f.getMethod().getType().getName().startsWith("com.zaxxer.hikari"))
+        .findFirst()
+        .map(AbstractThreadModelBenchmark::describe)
+        .orElse(describe(top));
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+  }
+
+  @FunctionalInterface
+  private interface Scenario {
+
+    int send() throws Exception;
+  }
+
+  private record Result(long[] latencies, Duration elapsed) {
+
+    double throughput() {
+      return latencies.length / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    double percentileMillis(double percentile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+      return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+  }
+}
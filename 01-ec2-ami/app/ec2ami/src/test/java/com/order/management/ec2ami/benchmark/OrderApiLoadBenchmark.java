@@ -0,0 +1,310 @@
+package com.order.management.ec2ami.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ec2ami.AbstractEc2amiApplicationTests;
+import com.order.management.ec2ami.config.TestSecurityConfig;
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.service.OrderService;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Open-model load against a real Tomcat and a Testcontainers Postgres: requests arrive at a fixed rate
+ * ({@code benchmark.rps}) whether or not earlier ones have completed, split across create/get/cancel/list by
+ * {@code benchmark.mix}. Latency is measured from the scheduled send time, so a slow server cannot hide queueing
+ * delay by slowing the load down (coordinated omission).
+ *
+ * <p>Writes a JSON report with throughput and HdrHistogram percentiles per operation, plus one {@code .hgrm}
+ * percentile distribution per operation, to {@code benchmark.report-dir}. Not part of the regular test run; use
+ * {@code ./mvnw -Pbenchmark test -Dtest=OrderApiLoadBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestSecurityConfig.class)
+class OrderApiLoadBenchmark extends AbstractEc2amiApplicationTests {
+
+  private static final int RPS = Integer.getInteger("benchmark.rps", 200);
+  private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+  private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.measurement-seconds", 60));
+  private static final String MIX = System.getProperty("benchmark.mix", "create=20,get=60,cancel=10,list=10");
+  // requests still outstanding beyond this are counted as dropped instead of sent, so the client cannot run away
+  private static final int MAX_IN_FLIGHT = Integer.getInteger("benchmark.max-in-flight", 5000);
+  private static final Path REPORT_DIR = Path.of(System.getProperty("benchmark.report-dir", "target/benchmark"));
+  private static final int SEEDED_ORDERS = 1000;
+
+  // latencies in nanoseconds up to one minute, 3 significant digits
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9", "p99.99"};
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Value("${local.server.port}")
+  private int port;
+
+  @Value("${spring.application.name}")
+  private String application;
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Test
+  void ordersApi_underOpenModelLoad() throws Exception {
+
+    List<Long> seeded = orderService.createOrders(Collections.nCopies(SEEDED_ORDERS, new BigDecimal("10.00")))
+        .stream()
+        .map(Order::getId)
+        .toList();
+    // orders that can still be cancelled; creates refill it
+    ConcurrentLinkedQueue<Long> cancellable = new ConcurrentLinkedQueue<>(seeded);
+    Map<Operation, Integer> weights = parseMix(MIX);
+
+    run(weights, seeded, cancellable, WARMUP);
+    Run measured = run(weights, seeded, cancellable, MEASUREMENT);
+
+    Path report = writeReport(weights, measured);
+    measured.stats().forEach((operation, stats) -> System.out.printf(
+        "[load] %-24s requests=%d errors=%d p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n",
+        operation.path, stats.histogram.getTotalCount(), stats.errors.sum(),
+        millis(stats.histogram, 50), millis(stats.histogram, 99), millis(stats.histogram, 99.9),
+        stats.histogram.getMaxValue() / 1_000_000.0));
+    System.out.printf("[load] sent=%d dropped=%d achieved=%.0f req/s (target %d), report: %s%n",
+        measured.sent(), measured.dropped(), measured.sent() / seconds(measured.elapsed()), RPS,
+        report.toAbsolutePath());
+
+    assertThat(report).exists();
+  }
+
+  private Run run(Map<Operation, Integer> weights, List<Long> seeded, ConcurrentLinkedQueue<Long> cancellable,
+      Duration duration) throws InterruptedException {
+
+    Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    weights.keySet().forEach(operation -> stats.put(operation, new Stats()));
+    int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+
+    long interval = TimeUnit.SECONDS.toNanos(1) / RPS;
+    long total = duration.toNanos() / interval;
+    AtomicInteger inFlight = new AtomicInteger();
+    long sent = 0;
+    long dropped = 0;
+
+    long start = System.nanoTime();
+    try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < total; i++) {
+        long scheduled = start + i * interval;
+        long wait = scheduled - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        if (inFlight.get() >= MAX_IN_FLIGHT) {
+          dropped++;
+          continue;
+        }
+        Operation operation = pick(weights, totalWeight);
+        Stats operationStats = stats.get(operation);
+        inFlight.incrementAndGet();
+        sent++;
+        senders.submit(() -> {
+          try {
+            int status = send(operation, seeded, cancellable);
+            if (status >= 400) {
+              operationStats.errors.increment();
+            }
+          } catch (Exception ex) {
+            operationStats.errors.increment();
+          } finally {
+            operationStats.histogram.recordValue(
+                Math.min(System.nanoTime() - scheduled, HIGHEST_TRACKABLE_NANOS));
+            inFlight.decrementAndGet();
+          }
+        });
+      }
+    }
+    return new Run(stats, sent, dropped, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private int send(Operation operation, List<Long> seeded, ConcurrentLinkedQueue<Long> cancellable)
+      throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return switch (operation) {
+      case CREATE -> {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{ \"totalAmount\": 49.99 }"))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        response.headers().firstValue("Location")
+            .map(location -> Long.valueOf(location.substring(location.lastIndexOf('/') + 1)))
+            .ifPresent(cancellable::add);
+        yield response.statusCode();
+      }
+      case GET -> client.send(
+          HttpRequest.newBuilder(uri("/orders/" + seeded.get(random.nextInt(seeded.size())))).build(),
+          HttpResponse.BodyHandlers.discarding()).statusCode();
+      case CANCEL -> {
+        Long id = cancellable.poll();
+        yield client.send(
+            HttpRequest.newBuilder(uri("/orders/" + (id != null ? id : seeded.getFirst()) + "/cancel"))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.discarding()).statusCode();
+      }
+      case LIST -> client.send(
+          HttpRequest.newBuilder(uri("/orders?size=20&page=" + random.nextInt(SEEDED_ORDERS / 20))).build(),
+          HttpResponse.BodyHandlers.discarding()).statusCode();
+    };
+  }
+
+  private Path writeReport(Map<Operation, Integer> weights, Run run) throws Exception {
+    Files.createDirectories(REPORT_DIR);
+
+    Map<String, Object> operations = new LinkedHashMap<>();
+    Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    for (Map.Entry<Operation, Stats> entry : run.stats().entrySet()) {
+      Histogram histogram = entry.getValue().histogram;
+      all.add(histogram);
+      operations.put(entry.getKey().name().toLowerCase(), summary(histogram, entry.getValue().errors.sum(), run));
+
+      Path hgrm = REPORT_DIR.resolve(application + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+        // values in milliseconds
+        histogram.outputPercentileDistribution(out, 1_000_000.0);
+      }
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("application", application);
+    report.put("threadModel", virtualThreads ? "virtual" : "platform");
+    report.put("timestamp", Instant.now().toString());
+    report.put("targetRps", RPS);
+    report.put("warmupSeconds", WARMUP.toSeconds());
+    report.put("measurementSeconds", MEASUREMENT.toSeconds());
+    report.put("mix", weights.entrySet().stream()
+        .collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey().name().toLowerCase(), e.getValue()), Map::putAll));
+    report.put("sent", run.sent());
+    report.put("dropped", run.dropped());
+    report.put("achievedRps", run.sent() / seconds(run.elapsed()));
+    report.put("total", summary(all, run.stats().values().stream().mapToLong(s -> s.errors.sum()).sum(), run));
+    report.put("operations", operations);
+
+    Path file = REPORT_DIR.resolve(application + "-load.json");
+    jsonMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    return file;
+  }
+
+  private static Map<String, Object> summary(Histogram histogram, long errors, Run run) {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("requests", histogram.getTotalCount());
+    summary.put("errors", errors);
+    summary.put("throughputRps", histogram.getTotalCount() / seconds(run.elapsed()));
+    Map<String, Object> latency = new LinkedHashMap<>();
+    latency.put("mean", histogram.getMean() / 1_000_000.0);
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      latency.put(PERCENTILE_NAMES[i], millis(histogram, PERCENTILES[i]));
+    }
+    latency.put("max", histogram.getMaxValue() / 1_000_000.0);
+    summary.put("latencyMillis", latency);
+    return summary;
+  }
+
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    Arrays.stream(mix.split(","))
+        .map(String::trim)
+        .filter(part -> !part.isEmpty())
+        .forEach(part -> {
+          String[] pair = part.split("=");
+          int weight = Integer.parseInt(pair[1].trim());
+          if (weight > 0) {
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+          }
+        });
+    assertThat(weights).as("benchmark.mix").isNotEmpty();
+    return weights;
+  }
+
+  private static Operation pick(Map<Operation, Integer> weights, int totalWeight) {
+    int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      roll -= entry.getValue();
+      if (roll < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("unreachable");
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toNanos() / 1_000_000_000.0;
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private enum Operation {
+    CREATE("POST /orders"),
+    GET("GET /orders/{id}"),
+    CANCEL("PUT /orders/{id}/cancel"),
+    LIST("GET /orders");
+
+    private final String path;
+
+    Operation(String path) {
+      this.path = path;
+    }
+  }
+
+  private static final class Stats {
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+    private final LongAdder errors = new LongAdder();
+  }
+
+  private record Run(Map<Operation, Stats> stats, long sent, long dropped, Duration elapsed) {
+
+  }
+}
@@ -0,0 +1,103 @@
+package com.order.management.ec2ami.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ec2ami.AbstractEc2amiApplicationTests;
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.enums.OrderStatus;
+import com.order.management.ec2ami.importer.OrderBulkImporter;
+import com.order.management.ec2ami.importer.OrderImportFormat;
+import com.order.management.ec2ami.importer.OrderImportResult;
+import com.order.management.ec2ami.repository.OrderRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Import throughput of {@link OrderBulkImporter} (COPY into a staging table, then chunked INSERT ... SELECT) against
+ * {@code OrderRepository.saveAll} in transactions of {@code benchmark.import-batch-size} orders, for the same
+ * {@code benchmark.import-rows} orders. Prints rows per second for both; {@code saveAll} also fires the change
+ * notification trigger for every row, as any write through the application does. Not part of the regular test run; use
+ * {@code ./mvnw -Pbenchmark test -Dtest=OrderBulkImportBenchmark}.
+ */
+class OrderBulkImportBenchmark extends AbstractEc2amiApplicationTests {
+
+  private static final int ROWS = Integer.getInteger("benchmark.import-rows", 200_000);
+  private static final int SAVE_ALL_BATCH_SIZE = Integer.getInteger("benchmark.import-batch-size", 1000);
+
+  @Autowired
+  private OrderBulkImporter importer;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @TempDir
+  private Path dir;
+
+  @Test
+  void copyImport_vsSaveAll_rowsPerSecond() throws Exception {
+
+    // given
+    Path file = writeCsv(dir.resolve("orders.csv"));
+
+    // when
+    OrderImportResult result = importer.importOrders(file, OrderImportFormat.CSV, dir.resolve("rejects.csv"));
+    long copyRate = result.rowsPerSecond();
+
+    jdbcTemplate.execute("TRUNCATE TABLE orders");
+    long started = System.nanoTime();
+    for (int from = 0; from < ROWS; from += SAVE_ALL_BATCH_SIZE) {
+      orderRepository.saveAll(orders(Math.min(SAVE_ALL_BATCH_SIZE, ROWS - from)));
+    }
+    long saveAllRate = ROWS * 1000L / Math.max(Duration.ofNanos(System.nanoTime() - started).toMillis(), 1);
+
+    // then
+    System.out.printf("[import] rows=%d copy=%d rows/s saveAll(batch %d)=%d rows/s speedup=%.1fx%n",
+        ROWS, copyRate, SAVE_ALL_BATCH_SIZE, saveAllRate, (double) copyRate / saveAllRate);
+    assertThat(result.imported()).isEqualTo(ROWS);
+    assertThat(orderRepository.count()).isEqualTo(ROWS);
+    assertThat(copyRate).isGreaterThan(saveAllRate);
+  }
+
+  private static Path writeCsv(Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      writer.write("status,total_amount,created_at\n");
+      for (int i = 1; i <= ROWS; i++) {
+        writer.write(status(i).name() + "," + amount(i) + ",2024-03-01T10:00:00Z\n");
+      }
+    }
+    return file;
+  }
+
+  // the same rows as the CSV, without the explicit created_at
+  private static List<Order> orders(int count) {
+    List<Order> orders = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      Order order = new Order();
+      order.setStatus(status(i));
+      order.setTotalAmount(amount(i));
+      orders.add(order);
+    }
+    return orders;
+  }
+
+  private static OrderStatus status(int i) {
+    return i % 10 == 0 ? OrderStatus.CANCELLED : OrderStatus.CREATED;
+  }
+
+  private static BigDecimal amount(int i) {
+    return BigDecimal.valueOf(i % 1000 * 100 + 99, 2);
+  }
+}
@@ -0,0 +1,98 @@
+package com.order.management.ec2ami.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ec2ami.TestcontainersConfiguration;
+import com.order.management.ec2ami.enums.OrderStatus;
+import com.order.management.ec2ami.service.OrderService;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Seeds 1M orders once and checks that a keyset page deep into the table costs about the same as the first one.
+ * Compares wall-clock latencies, so it is not part of the regular test run, which only checks the query plan
+ * ({@code OrderKeysetPaginationPlanTest}); use {@code ./mvnw -Pbenchmark test -Dtest=OrderKeysetPaginationBenchmark}.
+ */
+@Sql(scripts = {"/sql/cleanup_test_data.sql", "/sql/keyset_pagination_benchmark_orders.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/sql/cleanup_test_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderKeysetPaginationBenchmark {
+
+  private static final int ROWS = 1_000_000;
+  private static final int PAGE_SIZE = 50;
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 50;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void keysetPage_latencyIsFlat_acrossPageDepth() {
+
+    // given
+    Long first = idAtOffset(0);
+    Long middle = idAtOffset(ROWS / 2);
+    Long last = idAtOffset(ROWS - PAGE_SIZE - 1);
+
+    // when
+    Duration shallow = medianLatency(null, first);
+    Duration mid = medianLatency(null, middle);
+    Duration deep = medianLatency(null, last);
+
+    // then
+    assertFlat(shallow, mid);
+    assertFlat(shallow, deep);
+  }
+
+  @Test
+  void keysetPageByStatus_latencyIsFlat_acrossPageDepth() {
+
+    // given
+    Long first = idAtOffset(0);
+    Long last = idAtOffset(ROWS - 10 * PAGE_SIZE - 1);
+
+    // when
+    Duration shallow = medianLatency(OrderStatus.CANCELLED, first);
+    Duration deep = medianLatency(OrderStatus.CANCELLED, last);
+
+    // then
+    assertFlat(shallow, deep);
+  }
+
+  private Long idAtOffset(int offset) {
+    return jdbcTemplate.queryForObject("SELECT id FROM orders ORDER BY id OFFSET ? LIMIT 1", Long.class, offset);
+  }
+
+  private Duration medianLatency(OrderStatus status, Long afterId) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      assertThat(orderService.getOrdersAfter(status, afterId, PAGE_SIZE)).hasSize(PAGE_SIZE);
+    }
+
+    long[] samples = new long[MEASURED_ROUNDS];
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      orderService.getOrdersAfter(status, afterId, PAGE_SIZE);
+      samples[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(samples);
+    return Duration.ofNanos(samples[MEASURED_ROUNDS / 2]);
+  }
+
+  private static void assertFlat(Duration shallow, Duration deep) {
+    // generous bound: an OFFSET scan this deep is orders of magnitude slower than the first page
+    assertThat(deep).isLessThan(shallow.multipliedBy(3).plusMillis(5));
+  }
+}
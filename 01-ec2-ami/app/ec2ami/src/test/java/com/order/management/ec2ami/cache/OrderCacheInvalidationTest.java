@@ -0,0 +1,83 @@
+package com.order.management.ec2ami.cache;
+
+import com.order.management.ec2ami.AbstractEc2amiApplicationTests;
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.service.OrderService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Changes made outside this instance (here: straight SQL) reach the near cache through LISTEN/NOTIFY.
+ */
+class OrderCacheInvalidationTest extends AbstractEc2amiApplicationTests {
+
+  private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(5);
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void getOrder_seesChangeMadeByAnotherWriter() throws InterruptedException {
+
+    // given
+    Long id = orderService.createOrder(new BigDecimal("10.00")).getId();
+    assertThat(orderService.getOrder(id).getTotalAmount()).isEqualByComparingTo("10.00");
+
+    // when
+    jdbcTemplate.update("UPDATE orders SET total_amount = 20.00, version = version + 1 WHERE id = ?", id);
+
+    // then
+    Order order = awaitVersion(id, 1);
+    assertThat(order.getTotalAmount()).isEqualByComparingTo("20.00");
+  }
+
+  @Test
+  void getOrder_afterUnreadableNotification_stillSeesLaterChanges() throws InterruptedException {
+
+    // given
+    Long id = orderService.createOrder(new BigDecimal("10.00")).getId();
+    orderService.getOrder(id);
+
+    // when
+    jdbcTemplate.queryForList("SELECT pg_notify(?, 'not-an-order')", OrderChangeListener.CHANNEL);
+    jdbcTemplate.update("UPDATE orders SET total_amount = 20.00, version = version + 1 WHERE id = ?", id);
+
+    // then
+    Order order = awaitVersion(id, 1);
+    assertThat(order.getTotalAmount()).isEqualByComparingTo("20.00");
+  }
+
+  @Test
+  void getOrder_afterCancel_isNeverStale() {
+
+    // given
+    Long id = orderService.createOrder(new BigDecimal("10.00")).getId();
+    orderService.getOrder(id);
+
+    // when
+    orderService.cancelOrders(List.of(id));
+
+    // then: the local invalidation does not wait for the notification
+    assertThat(orderService.getOrder(id).getVersion()).isEqualTo(1L);
+  }
+
+  private Order awaitVersion(Long id, long version) throws InterruptedException {
+    Instant deadline = Instant.now().plus(PROPAGATION_TIMEOUT);
+    Order order = orderService.getOrder(id);
+    while (order.getVersion() < version && Instant.now().isBefore(deadline)) {
+      Thread.sleep(10);
+      order = orderService.getOrder(id);
+    }
+    return order;
+  }
+}
@@ -0,0 +1,125 @@
+package com.order.management.ec2ami.cache;
+
+import com.order.management.ec2ami.entity.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private OrderCache orderCache;
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    orderCache = new OrderCache(true, 100, Duration.ofMinutes(10), meterRegistry);
+    orderCache.reset(true);
+  }
+
+  @Test
+  void get_loadsOnce_thenServesFromCache() {
+
+    // when
+    orderCache.get(1L, id -> load(id, 0));
+    Optional<Order> cached = orderCache.get(1L, id -> load(id, 0));
+
+    // then
+    assertThat(cached).map(Order::getId).contains(1L);
+    assertThat(loads).hasValue(1);
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidate_withNewerVersion_dropsEntry() {
+
+    // given
+    orderCache.get(1L, id -> load(id, 0));
+
+    // when
+    orderCache.invalidate(1L, 1);
+    Optional<Order> reloaded = orderCache.get(1L, id -> load(id, 1));
+
+    // then
+    assertThat(reloaded).map(Order::getVersion).contains(1L);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void invalidate_withVersionAlreadyCached_keepsEntry() {
+
+    // given
+    orderCache.get(1L, id -> load(id, 1));
+
+    // when
+    orderCache.invalidate(1L, 1);
+    orderCache.get(1L, id -> load(id, 1));
+
+    // then
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void get_doesNotCacheVersionOlderThanLastChange() {
+
+    // given: a change to version 1 was announced while an older read was in flight
+    orderCache.invalidate(1L, 1);
+
+    // when
+    orderCache.get(1L, id -> load(id, 0));
+    orderCache.get(1L, id -> load(id, 1));
+    orderCache.get(1L, id -> load(id, 1));
+
+    // then
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void get_changeAnnouncedBetweenLoadAndStore_doesNotCacheLoadedVersion() {
+
+    // given: the change notification arrives after the row was read, before it is stored
+    Function<Long, Optional<Order>> racingLoader = id -> {
+      Optional<Order> loaded = load(id, 0);
+      orderCache.invalidate(id, 1);
+      return loaded;
+    };
+
+    // when
+    orderCache.get(1L, racingLoader);
+
+    // then
+    assertThat(orderCache.getIfPresent(1L)).isEmpty();
+  }
+
+  @Test
+  void get_bypassesCache_whileNotCoherent() {
+
+    // given
+    orderCache.reset(false);
+
+    // when
+    orderCache.get(1L, id -> load(id, 0));
+    orderCache.get(1L, id -> load(id, 0));
+
+    // then
+    assertThat(loads).hasValue(2);
+  }
+
+  private Optional<Order> load(Long id, long version) {
+    loads.incrementAndGet();
+    Order order = new Order();
+    order.setId(id);
+    order.setVersion(version);
+    return Optional.of(order);
+  }
+}
@@ -0,0 +1,164 @@
+package com.order.management.ec2ami.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ec2ami.config.ConcurrencyLimitFilter.Priority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  // fixed at 10: min and max pin the adaptive limit
+  private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(meterRegistry, 10, 10, 10);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test
+  void priorityOf_ranksHealthChecksAndCancelsAboveLists() {
+
+    // when && then
+    assertThat(ConcurrencyLimitFilter.priorityOf("GET", "/readyz")).isEqualTo(Priority.CRITICAL);
+    assertThat(ConcurrencyLimitFilter.priorityOf("GET", "/actuator/health/liveness")).isEqualTo(Priority.CRITICAL);
+    assertThat(ConcurrencyLimitFilter.priorityOf("PUT", "/orders/1/cancel")).isEqualTo(Priority.HIGH);
+    assertThat(ConcurrencyLimitFilter.priorityOf("POST", "/orders/cancel")).isEqualTo(Priority.HIGH);
+    assertThat(ConcurrencyLimitFilter.priorityOf("GET", "/orders/1")).isEqualTo(Priority.NORMAL);
+    assertThat(ConcurrencyLimitFilter.priorityOf("POST", "/orders")).isEqualTo(Priority.NORMAL);
+    assertThat(ConcurrencyLimitFilter.priorityOf("GET", "/orders")).isEqualTo(Priority.LOW);
+    assertThat(ConcurrencyLimitFilter.priorityOf("GET", "/orders/export")).isEqualTo(Priority.LOW);
+  }
+
+  @Test
+  void atLimit_shedsListsFirst_butAdmitsCancelsAndHealthChecks() throws Exception {
+
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      // given: 8 of 10 slots held by slow requests
+      for (int i = 0; i < 8; i++) {
+        clients.submit(() -> perform("GET", "/orders/1", this::awaitRelease));
+      }
+      awaitInFlight(8);
+
+      try {
+        // when
+        MockHttpServletResponse list = perform("GET", "/orders", chainReturning());
+        MockHttpServletResponse get = perform("GET", "/orders/2", chainReturning());
+        MockHttpServletResponse cancel = perform("PUT", "/orders/3/cancel", chainReturning());
+        MockHttpServletResponse health = perform("GET", "/readyz", chainReturning());
+
+        // then
+        assertThat(list.getStatus()).isEqualTo(503);
+        assertThat(list.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(get.getStatus()).isEqualTo(200);
+        assertThat(cancel.getStatus()).isEqualTo(200);
+        assertThat(health.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("orders.concurrency.rejected").tag("priority", "low").counter().count())
+            .isEqualTo(1);
+      } finally {
+        release.countDown();
+      }
+    }
+    assertThat(meterRegistry.get("orders.concurrency.in_flight").gauge().value()).isZero();
+  }
+
+  @Test
+  void atLimit_shedsEverythingButHealthChecks() throws Exception {
+
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      // given
+      for (int i = 0; i < 10; i++) {
+        clients.submit(() -> perform("PUT", "/orders/1/cancel", this::awaitRelease));
+      }
+      awaitInFlight(10);
+
+      try {
+        // when && then
+        assertThat(perform("PUT", "/orders/2/cancel", chainReturning()).getStatus()).isEqualTo(503);
+        assertThat(perform("GET", "/livez", chainReturning()).getStatus()).isEqualTo(200);
+      } finally {
+        release.countDown();
+      }
+    }
+  }
+
+  @Test
+  void limit_shrinksWhenLatencyRises_andGrowsBackWhenItRecovers() {
+
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200);
+    for (int i = 0; i < 1000; i++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), 150);
+    }
+    double healthy = limit.getLimit();
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(50), 150);
+    }
+    double degraded = limit.getLimit();
+
+    for (int i = 0; i < 1000; i++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), (int) limit.getLimit());
+    }
+    double recovered = limit.getLimit();
+
+    // then
+    assertThat(healthy).isEqualTo(200);
+    assertThat(degraded).isLessThan(healthy / 2);
+    assertThat(recovered).isGreaterThan(degraded * 2);
+  }
+
+  @Test
+  void limit_doesNotGrowWhileMostlyIdle() {
+
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200);
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), 3);
+    }
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(100);
+  }
+
+  private MockHttpServletResponse perform(String method, String path, FilterChain chain)
+      throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  private void awaitRelease(ServletRequest request, ServletResponse response) {
+    try {
+      release.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitInFlight(int count) throws InterruptedException {
+    while (meterRegistry.get("orders.concurrency.in_flight").gauge().value() < count) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static FilterChain chainReturning() {
+    return (request, response) -> {
+    };
+  }
+}
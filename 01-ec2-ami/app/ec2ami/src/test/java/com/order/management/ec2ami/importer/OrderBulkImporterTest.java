@@ -0,0 +1,198 @@
+package com.order.management.ec2ami.importer;
+
+import com.order.management.ec2ami.AbstractEc2amiApplicationTests;
+import com.order.management.ec2ami.entity.Order;
+import com.order.management.ec2ami.enums.OrderStatus;
+import com.order.management.ec2ami.repository.OrderRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// chunks smaller than the files, so merging takes several transactions
+@TestPropertySource(properties = "orders.import.chunk-size=2")
+class OrderBulkImporterTest extends AbstractEc2amiApplicationTests {
+
+  @Autowired
+  private OrderBulkImporter importer;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @TempDir
+  private Path dir;
+
+  @Test
+  void importOrders_fromCsv_mergesValidRows_andWritesRejects() throws Exception {
+
+    // given
+    Path file = Files.writeString(dir.resolve("orders.csv"), """
+        status,total_amount,created_at
+        CREATED,10.00,2024-03-01T10:00:00Z
+        SHIPPED,20.00,2024-03-01T11:00:00Z
+        CANCELLED,30.50,2024-03-02T09:30:00Z
+        CREATED,-5.00,
+        CREATED,abc,2024-03-03T00:00:00Z
+        CREATED,40.00,yesterday
+        CREATED,50.00,
+        """);
+    Path rejects = dir.resolve("rejects.csv");
+
+    // when
+    OrderImportResult result = importer.importOrders(file, OrderImportFormat.CSV, rejects);
+
+    // then
+    assertThat(result.staged()).isEqualTo(7);
+    assertThat(result.imported()).isEqualTo(3);
+    assertThat(result.rejected()).isEqualTo(4);
+
+    List<Order> orders = orderRepository.findAll(Sort.by("id"));
+    assertThat(orders).extracting(Order::getStatus)
+        .containsExactly(OrderStatus.CREATED, OrderStatus.CANCELLED, OrderStatus.CREATED);
+    assertThat(orders).extracting(order -> order.getTotalAmount().toPlainString())
+        .containsExactly("10.00", "30.50", "50.00");
+    assertThat(orders.get(0).getCreatedAt()).isEqualTo(Instant.parse("2024-03-01T10:00:00Z"));
+    assertThat(orders.get(2).getCreatedAt()).isAfter(Instant.parse("2026-01-01T00:00:00Z"));
+
+    assertThat(Files.readAllLines(rejects)).containsExactly(
+        "row_no,error,status,total_amount,created_at",
+        "2,\"status must be one of CREATED, CANCELLED\",SHIPPED,20.00,2024-03-01T11:00:00Z",
+        "4,total_amount must be positive,CREATED,-5.00,",
+        "5,total_amount is not a decimal number with at most 17 integer digits,CREATED,abc,2024-03-03T00:00:00Z",
+        "6,created_at is not a timestamp,CREATED,40.00,yesterday");
+  }
+
+  @Test
+  void importOrders_fromNdjson_acceptsExportShape_andRejectsMalformedLines() throws Exception {
+
+    // given
+    Path file = Files.writeString(dir.resolve("orders.ndjson"), """
+        {"id":7,"status":"CREATED","totalAmount":12.34,"createdAt":"2024-05-01T08:00:00Z","updatedAt":"2024-05-01T08:00:00Z"}
+        {"status":"CANCELLED","totalAmount":"56.78"}
+        {"status":"CREATED",
+        {"totalAmount":1.00}
+
+        {"status":"CREATED","totalAmount":9.99,"createdAt":"2024-05-02T08:00:00Z"}
+        """);
+    Path rejects = dir.resolve("rejects.csv");
+
+    // when
+    OrderImportResult result = importer.importOrders(file, OrderImportFormat.NDJSON, rejects);
+
+    // then
+    assertThat(result.staged()).isEqualTo(5);
+    assertThat(result.imported()).isEqualTo(3);
+    assertThat(result.rejected()).isEqualTo(2);
+
+    List<Order> orders = orderRepository.findAll(Sort.by("id"));
+    assertThat(orders).extracting(order -> order.getTotalAmount().toPlainString())
+        .containsExactly("12.34", "56.78", "9.99");
+    assertThat(orders.get(0).getId()).isNotEqualTo(7L);
+
+    assertThat(Files.readAllLines(rejects))
+        .hasSize(3)
+        .anyMatch(line -> line.startsWith("3,line is not valid JSON"))
+        .anyMatch(line -> line.startsWith("4,\"status must be one of"));
+  }
+
+  @Test
+  void importOrders_drawsIdsInBlocks_notOnePerRow() throws Exception {
+
+    // given: 4 valid rows, merged in 2 chunks
+    Path file = Files.writeString(dir.resolve("orders.csv"), """
+        status,total_amount,created_at
+        CREATED,10.00,
+        CREATED,20.00,
+        CREATED,30.00,
+        CREATED,40.00,
+        """);
+    long sequenceBefore = jdbcTemplate.queryForObject("SELECT nextval('orders_id_seq')", Long.class);
+
+    // when
+    importer.importOrders(file, OrderImportFormat.CSV, dir.resolve("rejects.csv"));
+
+    // then: one block of 50 per chunk, plus the block drawn above
+    long sequenceAfter = jdbcTemplate.queryForObject("SELECT nextval('orders_id_seq')", Long.class);
+    assertThat(sequenceAfter - sequenceBefore).isEqualTo(3 * 50);
+    List<Order> orders = orderRepository.findAll(Sort.by("id"));
+    assertThat(orders).extracting(Order::getId).doesNotHaveDuplicates().allMatch(id -> id > sequenceBefore);
+    assertThat(orders).extracting(order -> order.getTotalAmount().toPlainString())
+        .containsExactly("10.00", "20.00", "30.00", "40.00");
+  }
+
+  @Test
+  void importOrders_sameFileAgain_resumesAfterLastMergedChunk() throws Exception {
+
+    // given: an earlier run committed the first chunk, then failed
+    Path file = Files.writeString(dir.resolve("orders.csv"), """
+        status,total_amount,created_at
+        CREATED,10.00,
+        CREATED,20.00,
+        CREATED,30.00,
+        """);
+    String fileSha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    jdbcTemplate.update("INSERT INTO order_imports (file_sha256, merged_row_no, imported) VALUES (?, 2, 2)",
+        fileSha256);
+
+    // when
+    OrderImportResult resumed = importer.importOrders(file, OrderImportFormat.CSV, dir.resolve("rejects.csv"));
+    OrderImportResult repeated = importer.importOrders(file, OrderImportFormat.CSV, dir.resolve("rejects.csv"));
+
+    // then
+    assertThat(resumed.imported()).isEqualTo(1);
+    assertThat(repeated.imported()).isZero();
+    assertThat(orderRepository.findAll()).extracting(order -> order.getTotalAmount().toPlainString())
+        .containsExactly("30.00");
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT completed_at IS NOT NULL FROM order_imports WHERE file_sha256 = ?", Boolean.class, fileSha256))
+        .isTrue();
+  }
+
+  @Test
+  void importOrders_withoutRejects_doesNotWriteRejectsFile() throws Exception {
+
+    // given
+    Path file = Files.writeString(dir.resolve("orders.csv"), """
+        status,total_amount,created_at
+        CREATED,10.00,
+        """);
+    Path rejects = dir.resolve("rejects.csv");
+
+    // when
+    OrderImportResult result = importer.importOrders(file, OrderImportFormat.CSV, rejects);
+
+    // then
+    assertThat(result.imported()).isEqualTo(1);
+    assertThat(rejects).doesNotExist();
+  }
+
+  @Test
+  void importOrders_withUnexpectedCsvHeader_failsWithoutImporting() throws Exception {
+
+    // given
+    Path file = Files.writeString(dir.resolve("orders.csv"), """
+        total_amount,status,created_at
+        10.00,CREATED,
+        """);
+
+    // when && then
+    assertThatThrownBy(() -> importer.importOrders(file, OrderImportFormat.CSV, dir.resolve("rejects.csv")))
+        .isInstanceOf(SQLException.class);
+    assertThat(orderRepository.count()).isZero();
+  }
+}
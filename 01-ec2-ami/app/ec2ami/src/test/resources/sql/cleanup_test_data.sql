@@ -1 +1 @@
-TRUNCATE TABLE orders RESTART IDENTITY CASCADE;
\ No newline at end of file
+TRUNCATE TABLE orders, order_imports CASCADE;
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- enough rows that the planner only prefers an index scan for a page if it can use one
+INSERT INTO orders (status, total_amount)
+SELECT CASE WHEN g % 10 = 0 THEN 'CANCELLED' ELSE 'CREATED' END, (g % 1000) + 0.99
+FROM generate_series(1, 100000) AS g;
+ANALYZE orders;
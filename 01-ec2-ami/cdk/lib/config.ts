@@ -95,7 +95,7 @@ export function loadConfig(app: cdk.App): OrdersAppConfig {
     maxSize: optionalNumber(app, "maxSize", 2),
 
     appPort: optionalNumber(app, "appPort", 8080),
-    healthCheckPath: optionalString(app, "healthCheckPath", "/actuator/health/readiness"),
+    healthCheckPath: optionalString(app, "healthCheckPath", "/readyz"),
 
     dbName: optionalString(app, "dbName", "ordersdb"),
     dbEngineVersion: optionalDbEngineVersion(app, "dbEngineVersion", "16.9"),
@@ -0,0 +1,29 @@
+package com.order.management.ecsec2.jmh;
+
+import com.order.management.ecsec2.entity.Order;
+import com.order.management.ecsec2.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Orders shaped like production rows: a two-decimal amount and microsecond timestamps, as PostgreSQL returns them.
+ */
+final class BenchmarkOrders {
+
+  private static final Instant CREATED_AT = Instant.parse("2026-01-04T10:15:30.123456Z");
+
+  private BenchmarkOrders() {
+
+  }
+
+  static Order order(long id) {
+    Order order = new Order();
+    order.setId(id);
+    order.setVersion(id % 3);
+    order.setStatus(id % 2 == 0 ? OrderStatus.CREATED : OrderStatus.CANCELLED);
+    order.setTotalAmount(BigDecimal.valueOf(4999 + id, 2));
+    order.setCreatedAt(CREATED_AT.plusMillis(id));
+    order.setUpdatedAt(CREATED_AT.plusMillis(id + 1));
+    return order;
+  }
+}
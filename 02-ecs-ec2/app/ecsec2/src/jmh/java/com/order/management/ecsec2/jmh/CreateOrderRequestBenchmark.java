@@ -0,0 +1,72 @@
+package com.order.management.ecsec2.jmh;
+
+import com.order.management.ecsec2.web.dto.CreateOrderRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The {@code POST /orders} body: Jackson deserialization of {@link CreateOrderRequest} followed by Bean Validation,
+ * as {@code @RequestBody @Valid} does it. The invalid body measures the violation path behind a 400.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CreateOrderRequestBenchmark {
+
+  private static final byte[] VALID_BODY = "{ \"totalAmount\": 49.99 }".getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] INVALID_BODY = "{ \"totalAmount\": -1 }".getBytes(StandardCharsets.UTF_8);
+
+  private JsonMapper jsonMapper;
+
+  private ValidatorFactory validatorFactory;
+
+  private Validator validator;
+
+  @Setup
+  public void setUp() {
+    jsonMapper = JsonMapper.builder().build();
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public CreateOrderRequest deserialize() {
+    return jsonMapper.readValue(VALID_BODY, CreateOrderRequest.class);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<CreateOrderRequest>> deserializeAndValidate() {
+    return validator.validate(jsonMapper.readValue(VALID_BODY, CreateOrderRequest.class));
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<CreateOrderRequest>> deserializeAndValidate_invalid() {
+    return validator.validate(jsonMapper.readValue(INVALID_BODY, CreateOrderRequest.class));
+  }
+}
@@ -0,0 +1,103 @@
+package com.order.management.ecsec2.jmh;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.order.management.ecsec2.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Cost of turning a bearer token into a {@link Jwt} on every request: {@code nimbus} parses the token, verifies its
+ * RS256 signature and runs the issuer, {@code token_use} and {@code client_id} validators, as {@code SecurityConfig}
+ * configures them; {@code cached} is the same decoder behind {@link CachingJwtDecoder}, for a client that reuses its
+ * access token. The JWKS lookup is not part of either, since the keys are already in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtDecoderBenchmark {
+
+  private static final String ISSUER = "https://cognito-idp.eu-west-1.amazonaws.com/eu-west-1_benchmark";
+
+  private static final String CLIENT_ID = "benchmarkclient";
+
+  private JwtDecoder nimbus;
+
+  private JwtDecoder cached;
+
+  private String token;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException, JOSEException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+    decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+        JwtValidators.createDefaultWithIssuer(ISSUER),
+        new JwtClaimValidator<String>("token_use", "access"::equals),
+        new JwtClaimValidator<String>("client_id", CLIENT_ID::equals)));
+    nimbus = decoder;
+    cached = new CachingJwtDecoder(decoder, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry(),
+        Clock.systemUTC());
+
+    // shaped like a Cognito access token
+    Instant now = Instant.now();
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .issuer(ISSUER)
+        .subject(UUID.randomUUID().toString())
+        .claim("token_use", "access")
+        .claim("scope", "orders/read orders/write")
+        .claim("client_id", CLIENT_ID)
+        .jwtID(UUID.randomUUID().toString())
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+        .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("benchmark").build(), claims);
+    jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+    token = jwt.serialize();
+  }
+
+  @Benchmark
+  public Jwt nimbus() {
+    return nimbus.decode(token);
+  }
+
+  @Benchmark
+  public Jwt cached() {
+    return cached.decode(token);
+  }
+}
@@ -0,0 +1,68 @@
+package com.order.management.ecsec2.jmh;
+
+import com.order.management.ecsec2.web.dto.OrderResponse;
+import com.order.management.ecsec2.web.mapper.OrderMapper;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Response serialization: a single {@link OrderResponse} ({@code GET /orders/{id}}) and a
+ * {@code Page<OrderResponse>} ({@code GET /orders}), both with {@code BigDecimal} amounts and {@code Instant}
+ * timestamps. The mapper uses Jackson 3 defaults, which is what Boot configures for this app (ISO-8601 dates).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderJsonBenchmark {
+
+  /**
+   * Page size; 20 is the endpoint default.
+   */
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private JsonMapper jsonMapper;
+
+  private OrderResponse order;
+
+  private Page<OrderResponse> page;
+
+  @Setup
+  public void setUp() {
+    jsonMapper = JsonMapper.builder().build();
+    order = OrderMapper.toResponse(BenchmarkOrders.order(42));
+    page = new PageImpl<>(
+        LongStream.rangeClosed(1, pageSize).mapToObj(BenchmarkOrders::order).map(OrderMapper::toResponse).toList(),
+        PageRequest.of(0, pageSize, Sort.by("id")),
+        10_000);
+  }
+
+  @Benchmark
+  public byte[] serializeOrder() {
+    return jsonMapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public byte[] serializePage() {
+    return jsonMapper.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,40 @@
+package com.order.management.ecsec2.jmh;
+
+import com.order.management.ecsec2.entity.Order;
+import com.order.management.ecsec2.web.dto.OrderResponse;
+import com.order.management.ecsec2.web.mapper.OrderMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link OrderMapper#toResponse(Order)}, run once per order on every read endpoint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderMapperBenchmark {
+
+  private Order order;
+
+  @Setup
+  public void setUp() {
+    order = BenchmarkOrders.order(42);
+  }
+
+  @Benchmark
+  public OrderResponse toResponse() {
+    return OrderMapper.toResponse(order);
+  }
+}
@@ -0,0 +1,70 @@
+package com.order.management.ecsec2.jmh;
+
+import com.order.management.ecsec2.config.RequestIdFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Overhead of {@link RequestIdFilter} on every request: header lookup or UUID generation, the MDC entry and the
+ * response header. {@code baseline} runs the same chain without the filter, so the difference is the filter's cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RequestIdFilterBenchmark {
+
+  /**
+   * Whether the client (or the load balancer) already sent an {@code X-Request-Id}; otherwise a UUID is generated.
+   */
+  @Param({"true", "false"})
+  private boolean withRequestId;
+
+  private RequestIdFilter filter;
+
+  private MockHttpServletRequest request;
+
+  private MockHttpServletResponse response;
+
+  private FilterChain chain;
+
+  @Setup
+  public void setUp() {
+    filter = new RequestIdFilter();
+    request = new MockHttpServletRequest("GET", "/orders/42");
+    if (withRequestId) {
+      request.addHeader(RequestIdFilter.HEADER_NAME, "2f1c6a3e-5b7d-4e8a-9c0f-1a2b3c4d5e6f");
+    }
+    response = new MockHttpServletResponse();
+    // the rest of the pipeline is out of scope
+    chain = (req, res) -> {
+    };
+  }
+
+  @Benchmark
+  public void baseline() throws ServletException, IOException {
+    chain.doFilter(request, response);
+  }
+
+  @Benchmark
+  public void requestIdFilter() throws ServletException, IOException {
+    filter.doFilter(request, response, chain);
+  }
+}
@@ -0,0 +1,190 @@
+package com.order.management.ecsec2.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-client rate limit, keyed on the {@code client_id} claim of the access token, so one misbehaving integration is
+ * throttled with 429 before it can crowd out the others.
+ * <p>
+ * Each client has two {@link TokenBucket token buckets}: one for reads (GET, HEAD, OPTIONS) and one for writes. Limits
+ * come from {@code orders.rate-limit.read.*} and {@code orders.rate-limit.write.*}, and can be overridden per client
+ * under {@code orders.rate-limit.clients.<client_id>.*}. Every response carries {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset}; a 429 also carries {@code Retry-After}.
+ * <p>
+ * Buckets live in a map of at most {@code orders.rate-limit.max-clients} entries. A client whose buckets have been
+ * full for {@code orders.rate-limit.idle-timeout} is dropped; it starts again with full buckets, exactly as it would
+ * have had it been kept. Clients beyond the bound share one set of buckets until room is freed.
+ * <p>
+ * Runs inside the security filter chain right after bearer token authentication. Requests without a JWT, such as
+ * health checks, are not limited.
+ */
+public class ClientRateLimitFilter extends OncePerRequestFilter {
+
+  static final String LIMIT_HEADER = "RateLimit-Limit";
+
+  static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+  static final String RESET_HEADER = "RateLimit-Reset";
+
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  // an overfull map is swept at most this often, so a burst of new clients does not rescan it on every request
+  private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Environment environment;
+
+  private final LongSupplier nanoClock;
+
+  private final int maxClients;
+
+  private final long idleTimeoutNanos;
+
+  private final Map<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+
+  private final ClientBuckets overflow;
+
+  private final AtomicLong lastSweep;
+
+  private final Counter readRejected;
+
+  private final Counter writeRejected;
+
+  ClientRateLimitFilter(Environment environment, MeterRegistry meterRegistry) {
+    this(environment, meterRegistry, System::nanoTime);
+  }
+
+  ClientRateLimitFilter(Environment environment, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+    this.environment = environment;
+    this.nanoClock = nanoClock;
+    this.maxClients = environment.getProperty("orders.rate-limit.max-clients", Integer.class, 10_000);
+    this.idleTimeoutNanos = environment.getProperty("orders.rate-limit.idle-timeout", Duration.class,
+        Duration.ofMinutes(10)).toNanos();
+    long now = nanoClock.getAsLong();
+    this.overflow = newBuckets("orders.rate-limit", now);
+    this.lastSweep = new AtomicLong(now);
+    this.readRejected = rejectedCounter(meterRegistry, "read");
+    this.writeRejected = rejectedCounter(meterRegistry, "write");
+    Gauge.builder("orders.rate_limit.clients", clients, Map::size)
+        .description("Clients with rate limit buckets in memory")
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    String clientId = clientId();
+    if (clientId == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long now = nanoClock.getAsLong();
+    ClientBuckets buckets = clients.get(clientId);
+    if (buckets == null) {
+      buckets = register(clientId, now);
+    }
+    boolean read = READ_METHODS.contains(request.getMethod());
+    TokenBucket bucket = read ? buckets.read() : buckets.write();
+
+    long remaining = bucket.tryAcquire(now);
+    response.setIntHeader(LIMIT_HEADER, bucket.getCapacity());
+    response.setHeader(REMAINING_HEADER, Long.toString(Math.max(remaining, 0)));
+    response.setHeader(RESET_HEADER, Long.toString(ceilSeconds(bucket.nanosUntilFull(now))));
+    if (remaining < 0) {
+      (read ? readRejected : writeRejected).increment();
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER,
+          Long.toString(Math.max(ceilSeconds(bucket.nanosUntilNextToken(now)), 1)));
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  private static String clientId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication instanceof JwtAuthenticationToken jwt) {
+      return jwt.getToken().getClaimAsString("client_id");
+    }
+    return null;
+  }
+
+  private ClientBuckets register(String clientId, long now) {
+    if (clients.size() >= maxClients || now - lastSweep.get() > idleTimeoutNanos) {
+      sweep(now);
+    }
+    if (clients.size() >= maxClients) {
+      return overflow;
+    }
+    return clients.computeIfAbsent(clientId, id -> newBuckets("orders.rate-limit.clients." + id, now));
+  }
+
+  private void sweep(long now) {
+    long last = lastSweep.get();
+    if (now - last < MIN_SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+      return;
+    }
+    long idleSince = now - idleTimeoutNanos;
+    clients.values().removeIf(buckets -> buckets.isFullSince(idleSince));
+  }
+
+  /**
+   * Buckets with the limits under {@code prefix}, falling back to the {@code orders.rate-limit.*} defaults.
+   */
+  private ClientBuckets newBuckets(String prefix, long now) {
+    return new ClientBuckets(newBucket(prefix, "read", 200, 400, now), newBucket(prefix, "write", 50, 100, now));
+  }
+
+  private TokenBucket newBucket(String prefix, String route, double perSecond, int burst, long now) {
+    double defaultPerSecond = environment.getProperty("orders.rate-limit." + route + ".per-second", Double.class,
+        perSecond);
+    int defaultBurst = environment.getProperty("orders.rate-limit." + route + ".burst", Integer.class, burst);
+    return new TokenBucket(
+        environment.getProperty(prefix + "." + route + ".per-second", Double.class, defaultPerSecond),
+        environment.getProperty(prefix + "." + route + ".burst", Integer.class, defaultBurst),
+        now);
+  }
+
+  private static Counter rejectedCounter(MeterRegistry meterRegistry, String route) {
+    return Counter.builder("orders.rate_limit.rejected")
+        .description("Requests rejected with 429 because the client exceeded its rate limit")
+        .tag("route", route)
+        .register(meterRegistry);
+  }
+
+  private static long ceilSeconds(long nanos) {
+    return (nanos + 999_999_999) / 1_000_000_000;
+  }
+
+  private record ClientBuckets(TokenBucket read, TokenBucket write) {
+
+    boolean isFullSince(long sinceNanos) {
+      return read.isFullSince(sinceNanos) && write.isFullSince(sinceNanos);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.order.management.ecsec2.config;
+
+import java.sql.Connection;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Sends read-only transactions to the reader pool and everything else to the writer.
+ * <p>
+ * The physical connection is only fetched once the transaction has marked it read-only, which is what lets the
+ * choice depend on {@code @Transactional(readOnly = true)}. Requests pinned by {@link ReadYourWritesFilter} read
+ * from the writer as well.
+ */
+class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+  private final DataSource writer;
+
+  private final DataSource reader;
+
+  ReadReplicaDataSource(DataSource writer, DataSource reader) {
+    super(writer);
+    this.writer = writer;
+    this.reader = reader;
+    // the pools' defaults (Hikari auto-commit, PostgreSQL read committed), so the proxy does not open a writer
+    // connection just to look them up
+    setDefaultAutoCommit(true);
+    setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+    AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+      @Override
+      protected Object determineCurrentLookupKey() {
+        return ReadYourWritesFilter.isPinnedToWriter() ? Target.WRITER : Target.READER;
+      }
+    };
+    readOnly.setTargetDataSources(Map.of(Target.WRITER, writer, Target.READER, reader));
+    readOnly.afterPropertiesSet();
+    setReadOnlyDataSource(readOnly);
+  }
+
+  DataSource getReader() {
+    return reader;
+  }
+
+  /**
+   * Replaces the writer pool's own close callback, so both pools are shut down with the context.
+   */
+  @Override
+  public void close() throws Exception {
+    try {
+      if (reader instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    } finally {
+      if (writer instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private enum Target {
+    WRITER, READER
+  }
+}
@@ -0,0 +1,160 @@
+package com.order.management.ecsec2.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Keeps a client on the writer for a short window after it changed something, so it reads its own writes even while
+ * the replica lags behind.
+ * <p>
+ * The window is kept per authenticated {@code client_id}, so an API client that ignores cookies still reads its own
+ * writes; the filter runs after Spring Security, which has set the authentication by then. That record lives in this
+ * instance's memory, so it only holds when the next request reaches the same instance. The window also travels with
+ * the client as a short-lived cookie, which holds whichever instance behind the load balancer serves the next request.
+ * Only a successful (2xx) write opens the window; a rejected, failed or shed request changed nothing, so it leaves the
+ * client on the reader.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  static final String COOKIE_NAME = "orders-read-writer";
+
+  private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+  private final Duration window;
+
+  private final Cache<String, Boolean> recentWriters;
+
+  ReadYourWritesFilter(Duration window, long maximumClients) {
+    this.window = window;
+    this.recentWriters = Caffeine.newBuilder()
+        .maximumSize(maximumClients)
+        .expireAfterWrite(window)
+        .build();
+  }
+
+  public static boolean isPinnedToWriter() {
+    return Boolean.TRUE.equals(PINNED.get());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    if (SAFE_METHODS.contains(request.getMethod())) {
+      doFilterWithPin(request, response, filterChain);
+      return;
+    }
+
+    PinOnSuccessResponse pinning = new PinOnSuccessResponse(response, clientId());
+    doFilterWithPin(request, pinning, filterChain);
+    pinning.pinIfSuccessful();
+  }
+
+  private void doFilterWithPin(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    String clientId = clientId();
+    if (WebUtils.getCookie(request, COOKIE_NAME) == null
+        && (clientId == null || recentWriters.getIfPresent(clientId) == null)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    PINNED.set(Boolean.TRUE);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      PINNED.remove();
+    }
+  }
+
+  private static String clientId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication instanceof JwtAuthenticationToken jwt) {
+      return jwt.getToken().getClaimAsString("client_id");
+    }
+    return null;
+  }
+
+  /**
+   * Pins the client once the write has succeeded. Headers can no longer be added once the body is being written,
+   * so the status is checked right before that, or after the chain for a response without a body.
+   */
+  private final class PinOnSuccessResponse extends HttpServletResponseWrapper {
+
+    private final String clientId;
+
+    private boolean decided;
+
+    PinOnSuccessResponse(HttpServletResponse response, String clientId) {
+      super(response);
+      this.clientId = clientId;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      pinIfSuccessful();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      pinIfSuccessful();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      pinIfSuccessful();
+      super.flushBuffer();
+    }
+
+    void pinIfSuccessful() {
+      if (decided) {
+        return;
+      }
+      decided = true;
+      if (!HttpStatusCode.valueOf(getStatus()).is2xxSuccessful()) {
+        return;
+      }
+      if (clientId != null) {
+        recentWriters.put(clientId, Boolean.TRUE);
+      }
+      if (!isCommitted()) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, "1")
+            .maxAge(window)
+            .path("/")
+            .httpOnly(true)
+            .sameSite("Strict")
+            .build();
+        addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+      }
+    }
+  }
+}
@@ -1,10 +1,19 @@
 package com.order.management.ecsec2.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,7 +26,10 @@ import org.springframework.security.oauth2.jwt.JwtClaimValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableWebSecurity
@@ -28,23 +40,30 @@ public class SecurityConfig {
    * Enforce Cognito access-token validation:
    * - issuer must match the user pool
    * - token_use must be "access"
-   * - client_id must match the Cognito app client id
+   * - client_id must match the Cognito app client id, or one of them if several integrations call the API
    */
   @Bean
   JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
-      @Value("${cognito.user.pool.client.id:}") String userPoolClientId) {
-    // Builds a decoder that fetches JWKS from the issuer's metadata
-    NimbusJwtDecoder decoder = NimbusJwtDecoder.withIssuerLocation(issuer).build();
+      @Value("${cognito.user.pool.client.id:}") String userPoolClientId,
+      RefreshingJwkSource jwkSource, Environment environment, MeterRegistry meterRegistry) {
+    // Verifies signatures against the JWKS fetched at startup; claims are left to the validators below
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+    });
+    NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
 
     OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
 
     if (userPoolClientId != null && !userPoolClientId.isBlank()) {
+      Set<String> allowedClientIds = StringUtils.commaDelimitedListToSet(userPoolClientId.replace(" ", ""));
+
       OAuth2TokenValidator<Jwt> withAccessTokenUse =
           new JwtClaimValidator<String>("token_use", "access"::equals);
 
       OAuth2TokenValidator<Jwt> withClientId = jwt -> {
         String clientId = jwt.getClaimAsString("client_id");
-        if (userPoolClientId.equals(clientId)) {
+        if (clientId != null && allowedClientIds.contains(clientId)) {
           return OAuth2TokenValidatorResult.success();
         }
         OAuth2Error err = new OAuth2Error(
@@ -60,11 +79,28 @@ public class SecurityConfig {
       decoder.setJwtValidator(withIssuer);
     }
 
-    return decoder;
+    // Reuse the validation of a token seen before instead of checking its signature again
+    if (!environment.getProperty("orders.jwt.cache.enabled", Boolean.class, true)) {
+      return decoder;
+    }
+    return new CachingJwtDecoder(decoder,
+        environment.getProperty("orders.jwt.cache.maximum-size", Integer.class, 10_000),
+        environment.getProperty("orders.jwt.cache.max-ttl", Duration.class, Duration.ofMinutes(5)),
+        meterRegistry, Clock.systemUTC());
+  }
+
+  /**
+   * Issuer discovery and JWKS download happen during startup and then in the background, never on a request.
+   */
+  @Bean
+  RefreshingJwkSource jwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+      @Value("${orders.jwt.jwks-refresh-interval:5m}") Duration refreshInterval) {
+    return new RefreshingJwkSource(issuer, refreshInterval);
   }
 
   @Bean
-  SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  SecurityFilterChain securityFilterChain(HttpSecurity http, Environment environment, MeterRegistry meterRegistry)
+      throws Exception {
     http
         // Stateless REST API
         .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).csrf(csrf -> csrf.disable())
@@ -72,7 +108,10 @@ public class SecurityConfig {
         // Authorization rules
         .authorizeHttpRequests(auth -> auth
             // Allow ALB/API Gateway health checks
-            .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+
+            // Scraped on the management port, which is not reachable through the load balancer
+            .requestMatchers("/actuator/prometheus").permitAll()
 
             // Optional: keep Swagger locked down (recommended for production)
             // If you want Swagger public, permit these instead.
@@ -84,6 +123,19 @@ public class SecurityConfig {
         // JWT Resource Server
         .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
 
+    // Per-client rate limit, once the token (and so client_id) is known; not a bean, so it only runs in this chain
+    if (environment.getProperty("orders.rate-limit.enabled", Boolean.class, true)) {
+      http.addFilterAfter(new ClientRateLimitFilter(environment, meterRegistry), BearerTokenAuthenticationFilter.class);
+    }
+
+    // Load shedding once the request is authenticated and authorized, so 401s and 403s take no slot
+    if (environment.getProperty("orders.concurrency-limit.enabled", Boolean.class, true)) {
+      http.addFilterAfter(new ConcurrencyLimitFilter(meterRegistry,
+          environment.getProperty("orders.concurrency-limit.initial", Integer.class, 100),
+          environment.getProperty("orders.concurrency-limit.min", Integer.class, 10),
+          environment.getProperty("orders.concurrency-limit.max", Integer.class, 200)), AuthorizationFilter.class);
+    }
+
     return http.build();
   }
 
@@ -0,0 +1,105 @@
+package com.order.management.ecsec2.service;
+
+import com.order.management.ecsec2.config.ReadYourWritesFilter;
+import com.order.management.ecsec2.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight reads in front of {@link OrderService#getOrder}: concurrent lookups of the same id share one
+ * database query. The first caller runs the query on its own thread; callers arriving while it is in flight wait for
+ * its result, or its exception, instead of querying again.
+ * <p>
+ * In-flight queries live in a {@link ConcurrentHashMap}, which reads without locking and locks only a single bin on
+ * insert, so lookups of different ids never contend. An entry is removed before its result is published, so a caller
+ * never joins a query that has already finished.
+ * <p>
+ * A joining caller may see the order as of the moment the shared query started, slightly before it arrived. Requests
+ * pinned to the writer after a write therefore always query on their own, and a cancel made through this instance
+ * calls {@link #forget} so later reads do not join a query that started before it. Shared orders are detached and
+ * handed to several threads, so callers must only read them.
+ */
+@Component
+public class OrderReadCoalescer {
+
+  private final OrderService orderService;
+
+  private final boolean enabled;
+
+  private final ConcurrentMap<Long, CompletableFuture<Order>> inFlight = new ConcurrentHashMap<>();
+
+  private final Counter queries;
+
+  private final Counter coalesced;
+
+  public OrderReadCoalescer(
+      OrderService orderService,
+      MeterRegistry meterRegistry,
+      @Value("${orders.get.coalescing.enabled:true}") boolean enabled) {
+    this.orderService = orderService;
+    this.enabled = enabled;
+    this.queries = Counter.builder("orders.get.queries")
+        .description("GET /orders/{id} lookups that ran a database query")
+        .register(meterRegistry);
+    this.coalesced = Counter.builder("orders.get.coalesced")
+        .description("GET /orders/{id} lookups served by a query already in flight, i.e. queries saved")
+        .register(meterRegistry);
+  }
+
+  public Order getOrder(Long id) {
+    if (!enabled || ReadYourWritesFilter.isPinnedToWriter()) {
+      queries.increment();
+      return orderService.getOrder(id);
+    }
+
+    CompletableFuture<Order> existing = inFlight.get(id);
+    if (existing == null) {
+      CompletableFuture<Order> created = new CompletableFuture<>();
+      existing = inFlight.putIfAbsent(id, created);
+      if (existing == null) {
+        return load(id, created);
+      }
+    }
+
+    coalesced.increment();
+    try {
+      return existing.join();
+    } catch (CompletionException ex) {
+      // the leader's own exception, e.g. OrderNotFoundException, so every caller gets the same response
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Makes later lookups of {@code id} query again instead of joining a query that may predate a change.
+   */
+  public void forget(Long id) {
+    inFlight.remove(id);
+  }
+
+  private Order load(Long id, CompletableFuture<Order> future) {
+    queries.increment();
+    try {
+      Order order = orderService.getOrder(id);
+      inFlight.remove(id, future);
+      future.complete(order);
+      return order;
+    } catch (RuntimeException | Error ex) {
+      inFlight.remove(id, future);
+      future.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.order.management.ecsec2.web.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor. Clients only pass it back; the encoded form is the id of the last order returned.
+ */
+public final class OrderCursor {
+
+  private static final String PREFIX = "id:";
+
+  private OrderCursor() {
+
+  }
+
+  public static String encode(Long lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static Long decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!decoded.startsWith(PREFIX)) {
+        throw new InvalidCursorException(cursor);
+      }
+      return Long.parseLong(decoded.substring(PREFIX.length()));
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+}
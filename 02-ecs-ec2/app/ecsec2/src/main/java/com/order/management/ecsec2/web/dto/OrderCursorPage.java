@@ -0,0 +1,19 @@
+package com.order.management.ecsec2.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record OrderCursorPage(
+
+    @NotNull
+    List<OrderResponse> content,
+
+    @Schema(example = "20")
+    int size,
+
+    @Schema(description = "Pass as 'after' to fetch the next page; null when there are no more orders",
+        example = "aWQ6MjA", nullable = true)
+    String nextCursor) {
+
+}
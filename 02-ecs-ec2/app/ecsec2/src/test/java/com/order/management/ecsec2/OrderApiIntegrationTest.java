@@ -13,15 +13,21 @@ import com.order.management.ecsec2.config.TestSecurityConfig;
 import com.order.management.ecsec2.entity.Order;
 import com.order.management.ecsec2.enums.OrderStatus;
 import com.order.management.ecsec2.service.OrderService;
+import com.order.management.ecsec2.web.dto.CreateOrdersBatchRequest;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.json.JsonMapper;
 
@@ -39,6 +45,9 @@ public class OrderApiIntegrationTest extends AbstractEcsec2ApplicationTests {
   @Autowired
   private JsonMapper jsonMapper;
 
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   @Test
   void create_returnsCreatedResource() throws Exception {
 
@@ -76,6 +85,52 @@ public class OrderApiIntegrationTest extends AbstractEcsec2ApplicationTests {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void createBatch_persistsAllOrders() throws Exception {
+
+    // given
+    String orders = IntStream.rangeClosed(1, CreateOrdersBatchRequest.MAX_ORDERS)
+        .mapToObj(i -> "{ \"totalAmount\": " + i + ".00 }")
+        .collect(Collectors.joining(",", "{ \"orders\": [", "] }"));
+
+    // when
+    var result = mvc.perform(post("/orders/batch")
+            .contentType("application/json")
+            .content(orders))
+        .andExpect(status().isCreated())
+        .andReturn();
+
+    // then
+    JsonNode created = jsonMapper.readTree(result.getResponse().getContentAsString());
+    List<Long> ids = created.findValues("id").stream().map(JsonNode::asLong).toList();
+
+    assertThat(ids)
+        .hasSize(CreateOrdersBatchRequest.MAX_ORDERS)
+        .doesNotHaveDuplicates();
+    assertThat(created.get(0).path("totalAmount").decimalValue()).isEqualByComparingTo("1.00");
+    assertThat(created.get(0).path("status").asString()).isEqualTo("CREATED");
+    assertThat(created.get(0).path("createdAt").isNull()).isFalse();
+
+    mvc.perform(get("/orders/" + ids.getLast()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalAmount").value(1000.00));
+  }
+
+  @Test
+  void createBatch_tooManyOrders_returns400() throws Exception {
+
+    // given
+    String orders = IntStream.rangeClosed(1, CreateOrdersBatchRequest.MAX_ORDERS + 1)
+        .mapToObj(i -> "{ \"totalAmount\": 1.00 }")
+        .collect(Collectors.joining(",", "{ \"orders\": [", "] }"));
+
+    // when && then
+    mvc.perform(post("/orders/batch")
+            .contentType("application/json")
+            .content(orders))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void get_returnsResource_whenExists() throws Exception {
 
@@ -144,6 +199,60 @@ public class OrderApiIntegrationTest extends AbstractEcsec2ApplicationTests {
         .andExpect(jsonPath("$.status").value("CANCELLED"));
   }
 
+  @Test
+  void get_withIfNoneMatch_returns304_untilOrderChanges() throws Exception {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00"));
+    String eTag = mvc.perform(get("/orders/" + order.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn()
+        .getResponse()
+        .getHeader("ETag");
+
+    // when && then
+    mvc.perform(get("/orders/" + order.getId()).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", eTag));
+
+    mvc.perform(put("/orders/" + order.getId() + "/cancel"))
+        .andExpect(status().isOk());
+
+    mvc.perform(get("/orders/" + order.getId()).header("If-None-Match", eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+  }
+
+  @Test
+  void cancel_withIfMatch_rejectsStaleVersion() throws Exception {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00"));
+    String eTag = mvc.perform(get("/orders/" + order.getId()))
+        .andReturn()
+        .getResponse()
+        .getHeader("ETag");
+
+    // when && then: the first writer wins
+    String newETag = mvc.perform(put("/orders/" + order.getId() + "/cancel").header("If-Match", eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("CANCELLED"))
+        .andReturn()
+        .getResponse()
+        .getHeader("ETag");
+
+    // and: a second writer holding the old tag is told the order moved on
+    mvc.perform(put("/orders/" + order.getId() + "/cancel").header("If-Match", eTag))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(header().string("ETag", newETag));
+
+    // and: retrying with the current tag is idempotent
+    mvc.perform(put("/orders/" + order.getId() + "/cancel").header("If-Match", newETag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", newETag));
+  }
+
   @Test
   void cancel_returns404_whenNotExists() throws Exception {
 
@@ -152,6 +261,36 @@ public class OrderApiIntegrationTest extends AbstractEcsec2ApplicationTests {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  void cancelBulk_reportsOutcomePerId_andPersistsChanges() throws Exception {
+
+    // given
+    Order created = orderService.createOrder(new BigDecimal("10.00"));
+    Order alreadyCancelled = orderService.createOrder(new BigDecimal("20.00"));
+    orderService.cancelOrder(alreadyCancelled.getId());
+
+    // when && then
+    mvc.perform(post("/orders/cancel")
+            .contentType("application/json")
+            .content("{ \"ids\": [%d, %d, 9999, %d] }"
+                .formatted(created.getId(), alreadyCancelled.getId(), created.getId())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].id").value(created.getId()))
+        .andExpect(jsonPath("$[0].outcome").value("CANCELLED"))
+        .andExpect(jsonPath("$[1].id").value(alreadyCancelled.getId()))
+        .andExpect(jsonPath("$[1].outcome").value("ALREADY_CANCELLED"))
+        .andExpect(jsonPath("$[2].id").value(9999))
+        .andExpect(jsonPath("$[2].outcome").value("NOT_FOUND"));
+
+    // and: verify persisted state via GET
+    mvc.perform(get("/orders/" + created.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+
+    assertThat(orderService.getOrder(created.getId()).getVersion()).isEqualTo(1L);
+  }
+
   @Test
   void listOrders_withoutPagingParams_usesDefaultSize20_andSortById() throws Exception {
 
@@ -218,4 +357,140 @@ public class OrderApiIntegrationTest extends AbstractEcsec2ApplicationTests {
         .isSorted();
   }
 
+  @Test
+  void scrollOrders_walksAllOrders_inIdOrder() throws Exception {
+
+    // given
+    for (int i = 0; i < 5; i++) {
+      orderService.createOrder(new BigDecimal("10.00"));
+    }
+
+    // when
+    List<Long> ids = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      var request = get("/orders/scroll").param("size", "2");
+      if (cursor != null) {
+        request.param("after", cursor);
+      }
+      JsonNode page = jsonMapper.readTree(mvc.perform(request)
+          .andExpect(status().isOk())
+          .andReturn()
+          .getResponse()
+          .getContentAsString());
+
+      page.path("content").findValues("id").forEach(id -> ids.add(id.asLong()));
+      cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asString();
+      pages++;
+    } while (cursor != null);
+
+    // then
+    assertThat(pages).isEqualTo(3);
+    assertThat(ids)
+        .hasSize(5)
+        .doesNotHaveDuplicates()
+        .isSorted();
+  }
+
+  @Test
+  void listOrders_withTotalNone_reportsNextPage_withoutTotals() throws Exception {
+
+    // given
+    for (int i = 0; i < 3; i++) {
+      orderService.createOrder(new BigDecimal("10.00"));
+    }
+
+    // when && then
+    mvc.perform(get("/orders").param("total", "none").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    mvc.perform(get("/orders").param("total", "none").param("size", "2").param("page", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.last").value(true));
+  }
+
+  @Test
+  void listOrders_withTotalEstimated_returnsApproximateTotal() throws Exception {
+
+    // given
+    for (int i = 0; i < 30; i++) {
+      Order order = orderService.createOrder(new BigDecimal("10.00"));
+      if (i % 3 == 0) {
+        orderService.cancelOrder(order.getId());
+      }
+    }
+    jdbcTemplate.execute("ANALYZE orders");
+
+    // when
+    JsonNode all = jsonMapper.readTree(mvc.perform(get("/orders").param("total", "estimated"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(20))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andReturn()
+        .getResponse()
+        .getContentAsString());
+
+    JsonNode cancelled = jsonMapper.readTree(mvc.perform(get("/orders")
+            .param("status", "CANCELLED")
+            .param("total", "estimated"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString());
+
+    // then
+    assertThat(all.path("estimatedTotal").asLong()).isBetween(27L, 33L);
+    assertThat(cancelled.path("estimatedTotal").asLong()).isBetween(8L, 12L);
+  }
+
+
+  @Test
+  void exportOrders_streamsNdjson_filteredByStatusAndCreatedAt() throws Exception {
+
+    // given
+    Order old = orderService.createOrder(new BigDecimal("10.00"));
+    Order cancelled = orderService.createOrder(new BigDecimal("20.00"));
+    Order created = orderService.createOrder(new BigDecimal("30.00"));
+    orderService.cancelOrder(cancelled.getId());
+    jdbcTemplate.update("UPDATE orders SET created_at = TIMESTAMPTZ '2025-01-01 00:00:00Z' WHERE id = ?",
+        old.getId());
+
+    // when
+    List<Long> all = exportedIds(get("/orders/export"));
+    List<Long> cancelledOnly = exportedIds(get("/orders/export").param("status", "CANCELLED"));
+    List<Long> since2026 = exportedIds(get("/orders/export").param("createdFrom", "2026-01-01T00:00:00Z"));
+    List<Long> before2026 = exportedIds(get("/orders/export").param("createdTo", "2026-01-01T00:00:00Z"));
+
+    // then
+    assertThat(all).containsExactly(old.getId(), cancelled.getId(), created.getId());
+    assertThat(cancelledOnly).containsExactly(cancelled.getId());
+    assertThat(since2026).containsExactly(cancelled.getId(), created.getId());
+    assertThat(before2026).containsExactly(old.getId());
+  }
+
+  @Test
+  void exportOrders_withInvalidCreatedFrom_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders/export").param("createdFrom", "yesterday"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private List<Long> exportedIds(MockHttpServletRequestBuilder request) throws Exception {
+    String body = mvc.perform(request)
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    return body.lines()
+        .map(line -> jsonMapper.readTree(line).path("id").asLong())
+        .toList();
+  }
 }
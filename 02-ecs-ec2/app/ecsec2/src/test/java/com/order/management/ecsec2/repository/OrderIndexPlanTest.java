@@ -0,0 +1,64 @@
+package com.order.management.ecsec2.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ecsec2.AbstractEcsec2ApplicationTests;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that every sort order allowed for GET /orders is read in index order, without a sort step over the table.
+ */
+class OrderIndexPlanTest extends AbstractEcsec2ApplicationTests {
+
+  private static final int ROWS = 50_000;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void seed() {
+    jdbcTemplate.update("""
+        INSERT INTO orders (status, total_amount, created_at)
+        SELECT CASE WHEN g % 10 = 0 THEN 'CANCELLED' ELSE 'CREATED' END, (g % 1000) + 0.99,
+               now() - g * interval '1 second'
+        FROM generate_series(1, ?) AS g
+        """, ROWS);
+    jdbcTemplate.execute("ANALYZE orders");
+  }
+
+  @Test
+  void pageByCreatedAt_usesCreatedAtIdIndex() {
+
+    // when && then
+    assertThat(plan("SELECT * FROM orders ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 100"))
+        .contains("orders_created_at_id_idx")
+        .doesNotContain("Sort");
+  }
+
+  @Test
+  void pageByStatusAndCreatedAt_usesStatusCreatedAtIdIndex() {
+
+    // when && then
+    assertThat(plan("SELECT * FROM orders WHERE status = 'CANCELLED' ORDER BY created_at, id LIMIT 20 OFFSET 100"))
+        .contains("orders_status_created_at_id_idx")
+        .doesNotContain("Sort");
+  }
+
+  @Test
+  void pageByStatusAndId_usesStatusIdIndex() {
+
+    // when && then
+    assertThat(plan("SELECT * FROM orders WHERE status = 'CANCELLED' ORDER BY id LIMIT 20 OFFSET 100"))
+        .contains("orders_status_id_idx")
+        .doesNotContain("Sort");
+  }
+
+  private String plan(String sql) {
+    List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+    return String.join("\n", lines);
+  }
+}
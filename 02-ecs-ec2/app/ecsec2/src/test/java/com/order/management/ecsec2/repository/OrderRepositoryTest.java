@@ -8,6 +8,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
 
@@ -21,6 +22,9 @@ class OrderRepositoryTest {
   @Autowired
   private OrderRepository orderRepository;
 
+  @Autowired
+  private TestEntityManager entityManager;
+
   @AfterEach
   public void cleanUp() {
     orderRepository.deleteAll();
@@ -44,4 +48,39 @@ class OrderRepositoryTest {
     assertThat(savedOrder.getCreatedAt()).isNotNull();
     assertThat(savedOrder.getUpdatedAt()).isNotNull();
   }
+
+  @Test
+  void cancelIfCreated_cancelsAndReturnsUpdatedRow() {
+
+    // given
+    Order order = new Order();
+    order.setStatus(OrderStatus.CREATED);
+    order.setTotalAmount(new BigDecimal("100"));
+    Long id = orderRepository.saveAndFlush(order).getId();
+    entityManager.clear();
+
+    // when
+    Order cancelled = orderRepository.cancelIfCreated(id).orElseThrow();
+
+    // then
+    assertThat(cancelled.getId()).isEqualTo(id);
+    assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    assertThat(cancelled.getVersion()).isEqualTo(1L);
+    assertThat(cancelled.getTotalAmount()).isEqualByComparingTo("100");
+  }
+
+  @Test
+  void cancelIfCreated_isEmpty_whenAlreadyCancelledOrMissing() {
+
+    // given
+    Order order = new Order();
+    order.setStatus(OrderStatus.CANCELLED);
+    order.setTotalAmount(new BigDecimal("100"));
+    Long id = orderRepository.saveAndFlush(order).getId();
+    entityManager.clear();
+
+    // when && then
+    assertThat(orderRepository.cancelIfCreated(id)).isEmpty();
+    assertThat(orderRepository.cancelIfCreated(id + 1_000_000)).isEmpty();
+  }
 }
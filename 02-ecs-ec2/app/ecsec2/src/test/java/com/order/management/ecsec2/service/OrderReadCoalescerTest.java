@@ -0,0 +1,178 @@
+package com.order.management.ecsec2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.order.management.ecsec2.entity.Order;
+import com.order.management.ecsec2.service.exception.OrderNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderReadCoalescerTest {
+
+  private static final int CALLERS = 10;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private OrderService orderService;
+
+  private OrderReadCoalescer coalescer;
+
+  @BeforeEach
+  void setUp() {
+    orderService = mock(OrderService.class);
+    coalescer = new OrderReadCoalescer(orderService, meterRegistry, true);
+  }
+
+  @Test
+  void getOrder_concurrentCallers_shareOneQuery() throws Exception {
+
+    // given
+    Order order = new Order();
+    order.setId(1L);
+    when(orderService.getOrder(1L)).thenAnswer(invocation -> {
+      release.await();
+      return order;
+    });
+
+    // when
+    List<Order> results;
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Order>> futures = IntStream.range(0, CALLERS)
+          .mapToObj(i -> callers.submit(() -> coalescer.getOrder(1L)))
+          .toList();
+      awaitCoalesced(CALLERS - 1);
+      release.countDown();
+      results = futures.stream().map(this::join).toList();
+    }
+
+    // then
+    assertThat(results).hasSize(CALLERS).allSatisfy(result -> assertThat(result).isSameAs(order));
+    verify(orderService, times(1)).getOrder(1L);
+    assertThat(meterRegistry.get("orders.get.queries").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.get.coalesced").counter().count()).isEqualTo(CALLERS - 1);
+  }
+
+  @Test
+  void getOrder_concurrentCallers_allGetTheQueryException() throws Exception {
+
+    // given
+    when(orderService.getOrder(1L)).thenAnswer(invocation -> {
+      release.await();
+      throw new OrderNotFoundException(1L);
+    });
+
+    // when
+    List<Future<Order>> futures;
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      futures = IntStream.range(0, CALLERS)
+          .mapToObj(i -> callers.submit(() -> coalescer.getOrder(1L)))
+          .toList();
+      awaitCoalesced(CALLERS - 1);
+      release.countDown();
+    }
+
+    // then
+    assertThat(futures).allSatisfy(future ->
+        assertThat(future.exceptionNow()).isInstanceOf(OrderNotFoundException.class));
+    verify(orderService, times(1)).getOrder(1L);
+  }
+
+  @Test
+  void getOrder_sequentialCallers_queryEachTime() {
+
+    // given
+    when(orderService.getOrder(1L)).thenReturn(new Order());
+
+    // when
+    coalescer.getOrder(1L);
+    coalescer.getOrder(1L);
+
+    // then: nothing is cached once the query is done
+    verify(orderService, times(2)).getOrder(1L);
+  }
+
+  @Test
+  void getOrder_afterForget_queriesAgain() throws Exception {
+
+    // given
+    when(orderService.getOrder(1L)).thenAnswer(invocation -> {
+      release.await();
+      return new Order();
+    });
+
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<Order> first = callers.submit(() -> coalescer.getOrder(1L));
+      awaitQueries(1);
+
+      // when
+      coalescer.forget(1L);
+      Future<Order> second = callers.submit(() -> coalescer.getOrder(1L));
+      awaitQueries(2);
+      release.countDown();
+
+      // then
+      join(first);
+      join(second);
+    }
+    verify(orderService, times(2)).getOrder(1L);
+    assertThat(meterRegistry.get("orders.get.coalesced").counter().count()).isZero();
+  }
+
+  @Test
+  void getOrder_whenDisabled_neverShares() throws Exception {
+
+    // given
+    OrderReadCoalescer disabled = new OrderReadCoalescer(orderService, meterRegistry, false);
+    when(orderService.getOrder(1L)).thenAnswer(invocation -> {
+      release.await();
+      return new Order();
+    });
+
+    // when
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<Order> first = callers.submit(() -> disabled.getOrder(1L));
+      Future<Order> second = callers.submit(() -> disabled.getOrder(1L));
+      awaitQueries(2);
+      release.countDown();
+      join(first);
+      join(second);
+    }
+
+    // then
+    verify(orderService, times(2)).getOrder(1L);
+  }
+
+  private void awaitCoalesced(int count) throws InterruptedException {
+    while (meterRegistry.get("orders.get.coalesced").counter().count() < count) {
+      Thread.sleep(1);
+    }
+  }
+
+  private void awaitQueries(int count) throws InterruptedException {
+    while (meterRegistry.get("orders.get.queries").counter().count() < count) {
+      Thread.sleep(1);
+    }
+  }
+
+  private Order join(Future<Order> future) {
+    try {
+      return future.get();
+    } catch (Exception ex) {
+      throw new AssertionError(ex);
+    }
+  }
+}
@@ -3,6 +3,8 @@ package com.order.management.ecsec2.web;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -15,11 +17,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.order.management.ecsec2.config.TestSecurityConfig;
 import com.order.management.ecsec2.entity.Order;
+import com.order.management.ecsec2.enums.CancelOutcome;
 import com.order.management.ecsec2.enums.OrderStatus;
+import com.order.management.ecsec2.metrics.OrderMetrics;
+import com.order.management.ecsec2.service.OrderReadCoalescer;
 import com.order.management.ecsec2.service.OrderService;
 import com.order.management.ecsec2.service.exception.OrderNotFoundException;
+import com.order.management.ecsec2.service.exception.OrderVersionMismatchException;
+import com.order.management.ecsec2.web.cursor.OrderCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
@@ -27,6 +41,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
@@ -35,12 +50,15 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(OrderController.class)
 @ActiveProfiles("test")
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, OrderMetrics.class, OrderReadCoalescer.class, SimpleMeterRegistry.class})
 class OrderControllerWebMvcTest {
 
   @Autowired
   private MockMvc mvc;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockitoBean
   private OrderService orderService;
 
@@ -84,6 +102,61 @@ class OrderControllerWebMvcTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void postOrdersBatch_returns201_withOrdersInRequestOrder() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(1L);
+    o1.setStatus(OrderStatus.CREATED);
+    o1.setTotalAmount(new BigDecimal("10.00"));
+
+    Order o2 = new Order();
+    o2.setId(2L);
+    o2.setStatus(OrderStatus.CREATED);
+    o2.setTotalAmount(new BigDecimal("20.00"));
+
+    when(orderService.createOrders(List.of(new BigDecimal("10.00"), new BigDecimal("20.00"))))
+        .thenReturn(List.of(o1, o2));
+
+    // when && then
+    mvc.perform(post("/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                                {
+                                  "orders": [
+                                    { "totalAmount": 10.00 },
+                                    { "totalAmount": 20.00 }
+                                  ]
+                                }
+                                """))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[1].id").value(2))
+        .andExpect(jsonPath("$[1].totalAmount").value(20.00));
+  }
+
+  @Test
+  void postOrdersBatch_empty_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(post("/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{ \"orders\": [] }"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void postOrdersBatch_invalidOrder_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(post("/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{ \"orders\": [ { \"totalAmount\": 10.00 }, { \"totalAmount\": -1 } ] }"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void getOrder_found_returns200() throws Exception {
 
@@ -114,6 +187,94 @@ class OrderControllerWebMvcTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  void getOrder_recordsOperationTimer_taggedWithOutcome() throws Exception {
+
+    // given
+    Order order = new Order();
+    order.setId(1L);
+    order.setStatus(OrderStatus.CREATED);
+    order.setTotalAmount(new BigDecimal("100"));
+
+    when(orderService.getOrder(1L)).thenReturn(order);
+    when(orderService.getOrder(999L)).thenThrow(new OrderNotFoundException(999L));
+    // the registry is shared with the other tests of the cached context
+    long successBefore = getOperationCount("success");
+    long notFoundBefore = getOperationCount("not_found");
+
+    // when
+    mvc.perform(get("/orders/1")).andExpect(status().isOk());
+    mvc.perform(get("/orders/999")).andExpect(status().isNotFound());
+
+    // then
+    assertThat(getOperationCount("success")).isEqualTo(successBefore + 1);
+    assertThat(getOperationCount("not_found")).isEqualTo(notFoundBefore + 1);
+  }
+
+  @Test
+  void getOrder_found_returnsETagFromVersion() throws Exception {
+
+    // given
+    Order order = new Order();
+    order.setId(1L);
+    order.setVersion(3L);
+    order.setStatus(OrderStatus.CREATED);
+    order.setTotalAmount(new BigDecimal("100"));
+
+    when(orderService.getOrder(1L)).thenReturn(order);
+
+    // when && then
+    mvc.perform(get("/orders/1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"3\""));
+  }
+
+  @Test
+  void getOrder_withCurrentETag_returns304_withoutLoadingOrder() throws Exception {
+
+    // given
+    when(orderService.getOrderVersion(1L)).thenReturn(3L);
+
+    // when && then
+    mvc.perform(get("/orders/1").header("If-None-Match", "\"3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"3\""))
+        .andExpect(content().string(""));
+
+    verify(orderService, never()).getOrder(any());
+  }
+
+  @Test
+  void getOrder_withStaleETag_returns200_withNewETag() throws Exception {
+
+    // given
+    Order order = new Order();
+    order.setId(1L);
+    order.setVersion(4L);
+    order.setStatus(OrderStatus.CANCELLED);
+    order.setTotalAmount(new BigDecimal("100"));
+
+    when(orderService.getOrderVersion(1L)).thenReturn(4L);
+    when(orderService.getOrder(1L)).thenReturn(order);
+
+    // when && then
+    mvc.perform(get("/orders/1").header("If-None-Match", "\"3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"4\""))
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+  }
+
+  @Test
+  void getOrder_withETag_notFound_returns404() throws Exception {
+
+    // given
+    when(orderService.getOrderVersion(999L)).thenThrow(new OrderNotFoundException(999L));
+
+    // when && then
+    mvc.perform(get("/orders/999").header("If-None-Match", "\"0\""))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   void putCancel_createdOrder_returns200_withCancelledBody() throws Exception {
 
@@ -164,6 +325,90 @@ class OrderControllerWebMvcTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  void putCancel_withIfMatch_cancelsOnlyAtThatVersion() throws Exception {
+
+    // given
+    Order cancelled = new Order();
+    cancelled.setId(1L);
+    cancelled.setVersion(1L);
+    cancelled.setStatus(OrderStatus.CANCELLED);
+    cancelled.setTotalAmount(new BigDecimal("100"));
+
+    when(orderService.cancelOrder(1L, List.of(0L))).thenReturn(cancelled);
+
+    // when && then
+    mvc.perform(put("/orders/1/cancel").header("If-Match", "\"0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"1\""))
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+
+    verify(orderService, never()).cancelOrder(1L);
+  }
+
+  @Test
+  void putCancel_withStaleIfMatch_returns412_withCurrentETag() throws Exception {
+
+    // given
+    when(orderService.cancelOrder(1L, List.of(0L))).thenThrow(new OrderVersionMismatchException(1L, 2L));
+
+    // when && then
+    mvc.perform(put("/orders/1/cancel").header("If-Match", "\"0\""))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(header().string("ETag", "\"2\""));
+  }
+
+  @Test
+  void putCancel_withWildcardIfMatch_isUnconditional() throws Exception {
+
+    // given
+    Order cancelled = new Order();
+    cancelled.setId(1L);
+    cancelled.setStatus(OrderStatus.CANCELLED);
+    cancelled.setTotalAmount(new BigDecimal("100"));
+
+    when(orderService.cancelOrder(1L)).thenReturn(cancelled);
+
+    // when && then
+    mvc.perform(put("/orders/1/cancel").header("If-Match", "*"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+  }
+
+  @Test
+  void postCancel_returnsOutcomePerId() throws Exception {
+
+    // given
+    Map<Long, CancelOutcome> outcomes = new LinkedHashMap<>();
+    outcomes.put(1L, CancelOutcome.CANCELLED);
+    outcomes.put(2L, CancelOutcome.ALREADY_CANCELLED);
+    outcomes.put(999L, CancelOutcome.NOT_FOUND);
+
+    when(orderService.cancelOrders(List.of(1L, 2L, 999L))).thenReturn(outcomes);
+
+    // when && then
+    mvc.perform(post("/orders/cancel")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{ \"ids\": [1, 2, 999] }"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].outcome").value("CANCELLED"))
+        .andExpect(jsonPath("$[1].outcome").value("ALREADY_CANCELLED"))
+        .andExpect(jsonPath("$[2].id").value(999))
+        .andExpect(jsonPath("$[2].outcome").value("NOT_FOUND"));
+  }
+
+  @Test
+  void postCancel_emptyIds_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(post("/orders/cancel")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{ \"ids\": [] }"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void getOrders_withoutParams_usesDefaultPagingAndSorting() throws Exception {
 
@@ -220,4 +465,233 @@ class OrderControllerWebMvcTest {
     mvc.perform(get("/orders").param("status", "BOGUS"))
         .andExpect(status().isBadRequest());
   }
+
+  @Test
+  void getOrders_sortedByCreatedAt_addsIdTieBreaker_inSameDirection() throws Exception {
+
+    // given
+    when(orderService.getOrders(eq(null), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+    // when
+    mvc.perform(get("/orders").param("sort", "createdAt,desc"))
+        .andExpect(status().isOk());
+
+    // then
+    var pageableCaptor = org.mockito.ArgumentCaptor.forClass(Pageable.class);
+    verify(orderService).getOrders(eq(null), pageableCaptor.capture());
+    assertThat(pageableCaptor.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+  }
+
+  @Test
+  void getOrders_sortedByUnindexedProperty_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders").param("sort", "totalAmount,desc"))
+        .andExpect(status().isBadRequest());
+    mvc.perform(get("/orders").param("total", "none").param("sort", "status"))
+        .andExpect(status().isBadRequest());
+
+    verify(orderService, never()).getOrders(any(), any(Pageable.class));
+    verify(orderService, never()).getOrderSlice(any(), any(Pageable.class));
+  }
+
+  @Test
+  void getOrders_sortedByCreatedAtAndIdInOppositeDirections_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders").param("sort", "createdAt,asc").param("sort", "id,desc"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void scrollOrders_returnsNextCursor_whenMoreOrdersExist() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(1L);
+    o1.setStatus(OrderStatus.CREATED);
+    o1.setTotalAmount(new BigDecimal("10.00"));
+
+    Order o2 = new Order();
+    o2.setId(2L);
+    o2.setStatus(OrderStatus.CREATED);
+    o2.setTotalAmount(new BigDecimal("20.00"));
+
+    Order o3 = new Order();
+    o3.setId(3L);
+    o3.setStatus(OrderStatus.CREATED);
+    o3.setTotalAmount(new BigDecimal("30.00"));
+
+    // one more than the requested size signals another page
+    when(orderService.getOrdersAfter(null, null, 3)).thenReturn(List.of(o1, o2, o3));
+
+    // when && then
+    mvc.perform(get("/orders/scroll").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].id").value(1))
+        .andExpect(jsonPath("$.content[1].id").value(2))
+        .andExpect(jsonPath("$.size").value(2))
+        .andExpect(jsonPath("$.nextCursor").value(OrderCursor.encode(2L)));
+  }
+
+  @Test
+  void scrollOrders_afterCursor_lastPage_hasNoNextCursor() throws Exception {
+
+    // given
+    Order o3 = new Order();
+    o3.setId(3L);
+    o3.setStatus(OrderStatus.CANCELLED);
+    o3.setTotalAmount(new BigDecimal("30.00"));
+
+    when(orderService.getOrdersAfter(OrderStatus.CANCELLED, 2L, 3)).thenReturn(List.of(o3));
+
+    // when && then
+    mvc.perform(get("/orders/scroll")
+            .param("status", "CANCELLED")
+            .param("after", OrderCursor.encode(2L))
+            .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].id").value(3))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void scrollOrders_withInvalidCursor_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders/scroll").param("after", "not-a-cursor"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void scrollOrders_withSizeAboveMax_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders/scroll").param("size", "1001"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void exportOrders_writesOneJsonObjectPerLine() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(1L);
+    o1.setStatus(OrderStatus.CREATED);
+    o1.setTotalAmount(new BigDecimal("10.00"));
+    Order o2 = new Order();
+    o2.setId(2L);
+    o2.setStatus(OrderStatus.CREATED);
+    o2.setTotalAmount(new BigDecimal("20.00"));
+
+    when(orderService.exportOrders(eq(OrderStatus.CREATED), eq(Instant.parse("2026-01-01T00:00:00Z")), isNull(),
+        any())).thenAnswer(invocation -> {
+          Consumer<Order> action = invocation.getArgument(3);
+          action.accept(o1);
+          action.accept(o2);
+          return 2L;
+        });
+
+    // when
+    String body = mvc.perform(get("/orders/export")
+            .param("status", "CREATED")
+            .param("createdFrom", "2026-01-01T00:00:00Z"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    // then
+    assertThat(body.lines().toList())
+        .hasSize(2)
+        .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+    assertThat(body).endsWith("\n");
+    assertThat(body.lines().toList().get(1)).contains("\"id\":2");
+  }
+
+  @Test
+  void exportOrders_withInvalidStatus_returns400() throws Exception {
+
+    // given && when && then
+    mvc.perform(get("/orders/export").param("status", "BOGUS"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getOrders_withTotalNone_returnsSlice_withoutCounting() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(1L);
+    o1.setStatus(OrderStatus.CREATED);
+    o1.setTotalAmount(new BigDecimal("100.00"));
+
+    when(orderService.getOrderSlice(eq(null), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(o1), PageRequest.of(0, 20, Sort.by("id").ascending()), true));
+
+    // when && then
+    mvc.perform(get("/orders").param("total", "none"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].id").value(1))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(orderService, never()).getOrders(any(), any(Pageable.class));
+    verify(orderService, never()).estimateOrderCount(any());
+  }
+
+  @Test
+  void getOrders_withTotalEstimated_returnsPlannerEstimate() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(2L);
+    o1.setStatus(OrderStatus.CANCELLED);
+    o1.setTotalAmount(new BigDecimal("50.00"));
+
+    when(orderService.getOrderSlice(eq(OrderStatus.CANCELLED), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(o1), PageRequest.of(0, 20, Sort.by("id").ascending()), false));
+    when(orderService.estimateOrderCount(OrderStatus.CANCELLED)).thenReturn(1200L);
+
+    // when && then
+    mvc.perform(get("/orders").param("status", "CANCELLED").param("total", "estimated"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].id").value(2))
+        .andExpect(jsonPath("$.number").value(0))
+        .andExpect(jsonPath("$.size").value(20))
+        .andExpect(jsonPath("$.hasNext").value(false))
+        .andExpect(jsonPath("$.estimatedTotal").value(1200));
+
+    verify(orderService, never()).getOrders(any(), any(Pageable.class));
+  }
+
+  @Test
+  void getOrders_withTotalEstimated_neverReportsFewerThanSeen() throws Exception {
+
+    // given
+    Order o1 = new Order();
+    o1.setId(41L);
+    o1.setStatus(OrderStatus.CREATED);
+    o1.setTotalAmount(new BigDecimal("50.00"));
+
+    when(orderService.getOrderSlice(eq(null), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(o1), PageRequest.of(2, 20, Sort.by("id").ascending()), false));
+    when(orderService.estimateOrderCount(null)).thenReturn(0L);
+
+    // when && then
+    mvc.perform(get("/orders").param("page", "2").param("total", "estimated"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.estimatedTotal").value(41));
+  }
+
+  private long getOperationCount(String outcome) {
+    Timer timer = meterRegistry.find("orders.operation").tags("operation", "get", "outcome", outcome).timer();
+    return timer == null ? 0 : timer.count();
+  }
 }
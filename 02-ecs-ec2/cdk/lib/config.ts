@@ -127,7 +127,7 @@ export function loadConfig(app: cdk.App): OrdersAppConfig {
     containerMemoryReservationMB: optionalNumber(app, "containerMemoryReservationMB", 1024),
 
     appPort: optionalNumber(app, "appPort", 8080),
-    healthCheckPath: optionalString(app, "healthCheckPath", "/actuator/health/readiness"),
+    healthCheckPath: optionalString(app, "healthCheckPath", "/readyz"),
 
     ec2ServiceDesiredCount: optionalNumber(app, "ec2ServiceDesiredCount", 2),
     ec2ServiceHealthCheckGracePeriodSeconds: optionalNumber(app, "ec2ServiceHealthCheckGracePeriodSeconds", 300),
@@ -1,9 +1,12 @@
 package com.order.management.ecsfargate;
 
+import com.order.management.ecsfargate.config.NativeImageHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeImageHints.class)
 public class EcsFargateApplication {
 
 	public static void main(String[] args) {
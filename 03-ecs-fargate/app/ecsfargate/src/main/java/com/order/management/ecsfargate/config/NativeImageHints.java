@@ -0,0 +1,31 @@
+package com.order.management.ecsfargate.config;
+
+import com.order.management.ecsfargate.web.dto.CreateOrderRequest;
+import com.order.management.ecsfargate.web.dto.OrderResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints for the native executable ({@code -Pnative}) that Spring AOT cannot derive on its own.
+ * <p>
+ * Spring AOT already registers controller request and response bodies, the JPA entities and the Spring Security
+ * types, and the GraalVM reachability metadata covers Hibernate, Flyway and Nimbus internals. That leaves:
+ * <ul>
+ *   <li>{@link OrderResponse}, which the NDJSON export also writes through an {@code ObjectWriter} outside of the
+ *   controller's return type, and {@link CreateOrderRequest}, which only appears as the element type of a batch.</li>
+ *   <li>The Flyway migrations, read as classpath resources when the executable starts.</li>
+ * </ul>
+ * The issuer metadata and JWKS are fetched over HTTPS, which native-image only enables with
+ * {@code --enable-url-protocols}; see {@code META-INF/native-image/.../native-image.properties}.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+  private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    bindingHints.registerReflectionHints(hints.reflection(), OrderResponse.class, CreateOrderRequest.class);
+    hints.resources().registerPattern("db/migration/*.sql");
+  }
+}
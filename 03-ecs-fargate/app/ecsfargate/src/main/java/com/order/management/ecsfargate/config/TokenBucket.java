@@ -0,0 +1,63 @@
+package com.order.management.ecsfargate.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp, in the style of the generic cell rate algorithm: instead of a token count
+ * and a last-refill time it stores the moment the bucket will be full again. Taking a token moves that moment one
+ * refill interval later, so acquiring is a single compare-and-set, with no lock and no refill thread.
+ */
+class TokenBucket {
+
+  private final int capacity;
+
+  // time to earn one token back
+  private final long intervalNanos;
+
+  private final long capacityNanos;
+
+  private final AtomicLong fullAt;
+
+  TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+    this.capacity = capacity;
+    this.intervalNanos = Math.max(1, (long) (1_000_000_000 / tokensPerSecond));
+    this.capacityNanos = intervalNanos * capacity;
+    this.fullAt = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes a token and returns the number left, or returns -1 if the bucket is empty.
+   */
+  long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current - nowNanos, 0) + intervalNanos;
+      if (next > capacityNanos) {
+        return -1;
+      }
+      if (fullAt.compareAndSet(current, nowNanos + next)) {
+        return (capacityNanos - next) / intervalNanos;
+      }
+    }
+  }
+
+  long nanosUntilNextToken(long nowNanos) {
+    return Math.max(fullAt.get() - nowNanos + intervalNanos - capacityNanos, 0);
+  }
+
+  long nanosUntilFull(long nowNanos) {
+    return Math.max(fullAt.get() - nowNanos, 0);
+  }
+
+  /**
+   * Whether the bucket has been full since before {@code sinceNanos}; forgetting such a bucket loses nothing, since it
+   * would be recreated full.
+   */
+  boolean isFullSince(long sinceNanos) {
+    return fullAt.get() - sinceNanos <= 0;
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+}
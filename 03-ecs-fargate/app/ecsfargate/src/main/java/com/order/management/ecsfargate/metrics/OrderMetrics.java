@@ -0,0 +1,47 @@
+package com.order.management.ecsfargate.metrics;
+
+import com.order.management.ecsfargate.service.exception.OrderNotFoundException;
+import com.order.management.ecsfargate.service.exception.OrderVersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times order operations as {@code orders.operation{operation, outcome}} with a percentile histogram, so p99 can be
+ * aggregated across instances. Timing wraps the transactional service call, so commit time is included.
+ */
+@Component
+public class OrderMetrics {
+
+  static final String TIMER_NAME = "orders.operation";
+
+  private final MeterRegistry meterRegistry;
+
+  public OrderMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public <T> T record(String operation, Supplier<T> action) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      T result = action.get();
+      outcome = "success";
+      return result;
+    } catch (OrderNotFoundException ex) {
+      outcome = "not_found";
+      throw ex;
+    } catch (OrderVersionMismatchException ex) {
+      outcome = "version_mismatch";
+      throw ex;
+    } finally {
+      sample.stop(Timer.builder(TIMER_NAME)
+          .description("Order operations, including the database transaction")
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package com.order.management.ecsfargate.service;
+
+import com.order.management.ecsfargate.entity.Order;
+import com.order.management.ecsfargate.enums.OrderStatus;
+import com.order.management.ecsfargate.repository.OrderRepository;
+import com.order.management.ecsfargate.service.exception.OrderCreateRejectedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Group commit for {@link OrderService#createOrder}: concurrent creates are queued and inserted together by a single
+ * writer thread, in one transaction, so the database flushes its WAL once per batch instead of once per order.
+ * <p>
+ * A batch is written once {@code orders.group-commit.batch-size} creates are queued, or once the oldest of them has
+ * waited {@code orders.group-commit.max-wait}; while one batch is being written the next one fills up. Ids come from
+ * the pooled sequence, so Hibernate sends the batch as multi-row INSERTs. Each caller blocks until its batch commits
+ * and then gets its own order, or the exception that failed the batch.
+ * <p>
+ * At most {@code orders.group-commit.queue-capacity} creates wait at a time; beyond that they are rejected rather
+ * than queued without limit. A caller waits at most {@code orders.group-commit.timeout} and is then rejected as well;
+ * its order is dropped if the writer has not picked it up yet, but may still be stored if its batch is already being
+ * written.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.group-commit.enabled", havingValue = "true")
+public class OrderGroupCommitter implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitter.class);
+
+  // producers unpark the writer, so this only bounds how long an idle writer sleeps
+  private static final long IDLE_PARK_NANOS = Duration.ofMillis(100).toNanos();
+
+  private final OrderRepository orderRepository;
+
+  private final int batchSize;
+
+  private final long maxWaitNanos;
+
+  private final int queueCapacity;
+
+  private final long timeoutNanos;
+
+  // lock-free; the capacity is enforced by reserving a slot in 'queued' before offering
+  private final Queue<PendingOrder> queue = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final DistributionSummary batchSizes;
+
+  private volatile boolean running;
+
+  private volatile Thread writer;
+
+  public OrderGroupCommitter(
+      OrderRepository orderRepository,
+      MeterRegistry meterRegistry,
+      @Value("${orders.group-commit.batch-size:50}") int batchSize,
+      @Value("${orders.group-commit.max-wait:2ms}") Duration maxWait,
+      @Value("${orders.group-commit.queue-capacity:10000}") int queueCapacity,
+      @Value("${orders.group-commit.timeout:5s}") Duration timeout) {
+    this.orderRepository = orderRepository;
+    this.batchSize = batchSize;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.queueCapacity = queueCapacity;
+    this.timeoutNanos = timeout.toNanos();
+    this.batchSizes = DistributionSummary.builder("orders.group_commit.batch.size")
+        .description("Orders inserted per group commit")
+        .register(meterRegistry);
+    Gauge.builder("orders.group_commit.queue.size", queued, AtomicInteger::get)
+        .description("Creates waiting for the next group commit")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Queues the order for the next batch and waits until that batch has committed.
+   *
+   * @throws OrderCreateRejectedException if the queue is full, the batch has not committed within the timeout or the
+   *     application is shutting down
+   */
+  public Order createOrder(BigDecimal totalAmount) {
+    // reserve before checking 'running', so the writer cannot finish draining between the two (see writeBatches)
+    if (queued.incrementAndGet() > queueCapacity || !running) {
+      queued.decrementAndGet();
+      throw new OrderCreateRejectedException(running ? "group commit queue is full" : "group commit is stopped");
+    }
+    PendingOrder pending = new PendingOrder(totalAmount, System.nanoTime(), new CompletableFuture<>());
+    queue.offer(pending);
+    LockSupport.unpark(writer);
+
+    try {
+      return pending.result().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof TimeoutException) {
+        throw new OrderCreateRejectedException("group commit timed out");
+      }
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private void writeBatches() {
+    List<PendingOrder> batch = new ArrayList<>(batchSize);
+    // after stop, keep going until every reserved slot has been written
+    while (running || queued.get() > 0) {
+      try {
+        PendingOrder first = poll();
+        if (first == null) {
+          LockSupport.parkNanos(IDLE_PARK_NANOS);
+          continue;
+        }
+        batch.add(first);
+
+        long deadline = first.enqueuedNanos() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+          PendingOrder next = poll();
+          if (next != null) {
+            batch.add(next);
+            continue;
+          }
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          LockSupport.parkNanos(remaining);
+        }
+
+        // callers that timed out already got a 503
+        batch.removeIf(pending -> pending.result().isDone());
+        if (!batch.isEmpty()) {
+          write(batch);
+        }
+      } catch (Throwable ex) {
+        // the writer must outlive any failure, or every queued and later create would wait for it in vain
+        log.error("group commit writer failed, batchSize={}", batch.size(), ex);
+        batch.forEach(pending -> pending.result().completeExceptionally(ex));
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private PendingOrder poll() {
+    PendingOrder pending = queue.poll();
+    if (pending != null) {
+      queued.decrementAndGet();
+    }
+    return pending;
+  }
+
+  private void write(List<PendingOrder> batch) {
+    List<Order> orders = batch.stream()
+        .map(pending -> {
+          Order order = new Order();
+          order.setTotalAmount(pending.totalAmount());
+          order.setStatus(OrderStatus.CREATED);
+          return order;
+        })
+        .toList();
+
+    try {
+      // one transaction; saveAll returns the orders in the order given
+      List<Order> saved = orderRepository.saveAll(orders);
+      batchSizes.record(batch.size());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(saved.get(i));
+      }
+    } catch (RuntimeException ex) {
+      log.warn("group commit failed, batchSize={}", batch.size(), ex);
+      batch.forEach(pending -> pending.result().completeExceptionally(ex));
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writer = Thread.ofPlatform()
+        .name("order-group-commit")
+        .daemon()
+        .start(this::writeBatches);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Thread current = writer;
+    if (current != null) {
+      LockSupport.unpark(current);
+      try {
+        current.join();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Started before and stopped after the web server, so requests still in flight during graceful shutdown can
+   * create orders.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private record PendingOrder(BigDecimal totalAmount, long enqueuedNanos, CompletableFuture<Order> result) {
+
+  }
+}
@@ -0,0 +1,8 @@
+package com.order.management.ecsfargate.service.exception;
+
+public class OrderCreateRejectedException extends RuntimeException {
+
+  public OrderCreateRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,15 @@
+package com.order.management.ecsfargate.service.exception;
+
+public class OrderVersionMismatchException extends RuntimeException {
+
+  private final long currentVersion;
+
+  public OrderVersionMismatchException(Long id, long currentVersion) {
+    super("Order " + id + " is at version " + currentVersion);
+    this.currentVersion = currentVersion;
+  }
+
+  public long getCurrentVersion() {
+    return currentVersion;
+  }
+}
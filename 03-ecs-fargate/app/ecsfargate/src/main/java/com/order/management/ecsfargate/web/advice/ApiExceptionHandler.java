@@ -1,6 +1,13 @@
 package com.order.management.ecsfargate.web.advice;
 
+import com.order.management.ecsfargate.service.exception.OrderCreateRejectedException;
 import com.order.management.ecsfargate.service.exception.OrderNotFoundException;
+import com.order.management.ecsfargate.service.exception.OrderVersionMismatchException;
+import com.order.management.ecsfargate.web.cursor.InvalidCursorException;
+import com.order.management.ecsfargate.web.etag.OrderETag;
+import com.order.management.ecsfargate.web.sort.InvalidSortException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,4 +19,30 @@ public class ApiExceptionHandler {
   public ResponseEntity<Void> handleNotFound(OrderNotFoundException ex) {
     return ResponseEntity.notFound().build();
   }
+
+  @ExceptionHandler(OrderVersionMismatchException.class)
+  public ResponseEntity<Void> handleVersionMismatch(OrderVersionMismatchException ex) {
+    // the current tag lets the client re-read and retry without another round trip to find it
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+        .eTag(OrderETag.format(ex.getCurrentVersion()))
+        .build();
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Void> handleInvalidCursor(InvalidCursorException ex) {
+    return ResponseEntity.badRequest().build();
+  }
+
+  @ExceptionHandler(InvalidSortException.class)
+  public ResponseEntity<Void> handleInvalidSort(InvalidSortException ex) {
+    return ResponseEntity.badRequest().build();
+  }
+
+  @ExceptionHandler(OrderCreateRejectedException.class)
+  public ResponseEntity<Void> handleCreateRejected(OrderCreateRejectedException ex) {
+    // the group commit queue drains within milliseconds, so a retry after a second is likely to get through
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+  }
 }
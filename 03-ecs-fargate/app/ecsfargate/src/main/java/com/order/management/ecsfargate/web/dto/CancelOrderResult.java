@@ -0,0 +1,16 @@
+package com.order.management.ecsfargate.web.dto;
+
+import com.order.management.ecsfargate.enums.CancelOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public record CancelOrderResult(
+
+    @Schema(example = "123")
+    @NotNull
+    Long id,
+
+    @NotNull
+    CancelOutcome outcome) {
+
+}
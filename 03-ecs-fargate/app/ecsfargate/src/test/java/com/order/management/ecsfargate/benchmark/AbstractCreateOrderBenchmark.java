@@ -0,0 +1,108 @@
+package com.order.management.ecsfargate.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ecsfargate.AbstractEcsFargateApplicationTests;
+import com.order.management.ecsfargate.service.OrderService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Closed-loop create throughput: {@code CONCURRENCY} virtual threads call {@link OrderService#createOrder} back to
+ * back, without HTTP in between, so the numbers reflect transactions and commits. Subclasses pick the commit mode;
+ * compare their output for the group-commit gain.
+ *
+ * <p>Not part of the regular test run; use {@code ./mvnw -Pbenchmark test -Dtest='*CommitBenchmark'}.
+ */
+// same pool and thread model for both modes, so only the commit strategy differs
+@TestPropertySource(properties = {
+    "spring.datasource.hikari.maximum-pool-size=20",
+    "spring.threads.virtual.enabled=true"
+})
+abstract class AbstractCreateOrderBenchmark extends AbstractEcsFargateApplicationTests {
+
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+  private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+  private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.measurement-seconds", 30));
+  private static final BigDecimal AMOUNT = new BigDecimal("49.99");
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  protected abstract String commitMode();
+
+  @Test
+  void createOrders_underHighConcurrency() throws Exception {
+
+    run(WARMUP);
+    long batchesBefore = batches();
+    double batchedBefore = batchedOrders();
+
+    Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+    LongAdder errors = new LongAdder();
+    long start = System.nanoTime();
+    run(MEASUREMENT, latencies, errors);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    long batches = batches() - batchesBefore;
+    long created = latencies.getTotalCount();
+    System.out.printf("[%s] createOrder x%d: orders=%d throughput=%.0f orders/s p50=%.2f ms p99=%.2f ms "
+            + "p99.9=%.2f ms orders/commit=%.1f%n",
+        commitMode(), CONCURRENCY, created, created / (elapsed.toNanos() / 1_000_000_000.0),
+        millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+        batches == 0 ? 1.0 : (batchedOrders() - batchedBefore) / batches);
+    assertThat(errors.sum()).isZero();
+  }
+
+  private void run(Duration duration) throws InterruptedException {
+    run(duration, new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3), new LongAdder());
+  }
+
+  private void run(Duration duration, Histogram latencies, LongAdder errors) throws InterruptedException {
+    long deadline = System.nanoTime() + duration.toNanos();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        clients.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            long requestStart = System.nanoTime();
+            try {
+              orderService.createOrder(AMOUNT);
+              latencies.recordValue(System.nanoTime() - requestStart);
+            } catch (RuntimeException ex) {
+              errors.increment();
+            }
+          }
+        });
+      }
+    }
+  }
+
+  // only registered in group-commit mode
+  private long batches() {
+    DistributionSummary summary = meterRegistry.find("orders.group_commit.batch.size").summary();
+    return summary == null ? 0 : summary.count();
+  }
+
+  private double batchedOrders() {
+    DistributionSummary summary = meterRegistry.find("orders.group_commit.batch.size").summary();
+    return summary == null ? 0 : summary.totalAmount();
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+  }
+}
@@ -0,0 +1,12 @@
+package com.order.management.ecsfargate.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsBenchmark extends AbstractThreadModelBenchmark {
+
+  @Override
+  protected String threadModel() {
+    return "platform";
+  }
+}
@@ -0,0 +1,12 @@
+package com.order.management.ecsfargate.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "orders.group-commit.enabled=false")
+class SingleCommitBenchmark extends AbstractCreateOrderBenchmark {
+
+  @Override
+  protected String commitMode() {
+    return "single";
+  }
+}
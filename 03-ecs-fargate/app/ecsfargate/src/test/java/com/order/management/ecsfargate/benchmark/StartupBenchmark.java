@@ -0,0 +1,159 @@
+package com.order.management.ecsfargate.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cold start of the container image, as during an ECS scale-out: each run starts a fresh container against a shared
+ * Testcontainers Postgres and measures the time until {@code /actuator/health} first answers 200, Spring's own
+ * "process running for" figure, and the resident set size right after.
+ * <p>
+ * Compares the images in {@code benchmark.images}, by default the plain build, the fast-startup build (Spring AOT
+ * and a CDS archive) and the native executable, which have to be built first:
+ * <pre>
+ * docker build -t ecsfargate:latest .
+ * docker build --build-arg FAST_STARTUP=true -t ecsfargate:fast-startup .
+ * docker build -f Dockerfile.native -t ecsfargate:native .
+ * </pre>
+ * Time to healthy includes creating and starting the container, which costs the same for every image.
+ *
+ * <p>Not part of the regular test run; use {@code ./mvnw -Pbenchmark test -Dtest=StartupBenchmark}.
+ */
+class StartupBenchmark {
+
+  private static final List<String> IMAGES =
+      Arrays.asList(System.getProperty("benchmark.images",
+          "ecsfargate:latest,ecsfargate:fast-startup,ecsfargate:native").split(","));
+  private static final int RUNS = Integer.getInteger("benchmark.startup-runs", 5);
+  private static final Path REPORT_DIR = Path.of(System.getProperty("benchmark.report-dir", "target/benchmark"));
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+  private static final Pattern PROCESS_RUNNING_FOR = Pattern.compile("process running for ([0-9.]+)");
+  private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofMillis(200))
+      .build();
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Test
+  void timeToHealthyAndRss_perImage() throws Exception {
+    Map<String, Object> images = new LinkedHashMap<>();
+
+    try (Network network = Network.newNetwork();
+        PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:18"))
+            .withNetwork(network)
+            .withNetworkAliases("postgres")) {
+      postgres.start();
+
+      // untimed: applies the migrations, which later starts only validate
+      start(IMAGES.getFirst(), network, postgres);
+
+      Map<String, List<Sample>> samples = new LinkedHashMap<>();
+      // interleaved, so drift on the host affects every image alike
+      for (int run = 0; run < RUNS; run++) {
+        for (String image : IMAGES) {
+          samples.computeIfAbsent(image, i -> new ArrayList<>()).add(start(image, network, postgres));
+        }
+      }
+
+      for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+        Map<String, Object> summary = summary(entry.getValue());
+        images.put(entry.getKey(), summary);
+        System.out.printf("[startup] %-24s healthy p50=%d ms min=%d ms, running for p50=%.2f s, RSS p50=%d MiB%n",
+            entry.getKey(), summary.get("timeToHealthyMsP50"), summary.get("timeToHealthyMsMin"),
+            summary.get("processRunningForSecondsP50"), summary.get("rssMiBP50"));
+      }
+    }
+
+    Files.createDirectories(REPORT_DIR);
+    Path report = REPORT_DIR.resolve("ecsfargate-startup.json");
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put("timestamp", Instant.now().toString());
+    content.put("runs", RUNS);
+    content.put("images", images);
+    jsonMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), content);
+    System.out.printf("[startup] report: %s%n", report.toAbsolutePath());
+    assertThat(report).exists();
+  }
+
+  private Sample start(String image, Network network, PostgreSQLContainer postgres) throws Exception {
+    try (GenericContainer<?> app = new GenericContainer<>(DockerImageName.parse(image))
+        .withNetwork(network)
+        .withEnv("SPRING_DATASOURCE_URL", "jdbc:postgresql://postgres:5432/" + postgres.getDatabaseName())
+        .withEnv("SPRING_DATASOURCE_USERNAME", postgres.getUsername())
+        .withEnv("SPRING_DATASOURCE_PASSWORD", postgres.getPassword())
+        // nothing listens there, so the JWKS prefetch fails at once instead of timing out
+        .withEnv("COGNITO_ISSUER_URI", "http://localhost:1/startup-benchmark")
+        .withEnv("COGNITO_USER_POOL_CLIENT_ID", "startup-benchmark")
+        .withExposedPorts(8080, 8081)
+        // follows the log stream, so it returns as soon as the line is written
+        .waitingFor(Wait.forLogMessage(".*Started .*Application in.*", 1).withStartupTimeout(STARTUP_TIMEOUT))) {
+
+      long start = System.nanoTime();
+      app.start();
+      URI health = URI.create("http://" + app.getHost() + ":" + app.getMappedPort(8081) + "/actuator/health");
+      while (!isHealthy(health)) {
+        Thread.sleep(5);
+      }
+      long timeToHealthy = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+      Matcher runningFor = PROCESS_RUNNING_FOR.matcher(app.getLogs());
+      Matcher rss = VM_RSS.matcher(app.execInContainer("cat", "/proc/1/status").getStdout());
+      assertThat(runningFor.find()).as("startup log line of %s", image).isTrue();
+      assertThat(rss.find()).as("VmRSS of %s", image).isTrue();
+      return new Sample(timeToHealthy, Double.parseDouble(runningFor.group(1)), Long.parseLong(rss.group(1)) / 1024);
+    }
+  }
+
+  private boolean isHealthy(URI health) {
+    try {
+      return client.send(HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build(),
+          HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    } catch (Exception ex) {
+      return false;
+    }
+  }
+
+  private static Map<String, Object> summary(List<Sample> samples) {
+    long[] healthy = samples.stream().mapToLong(Sample::timeToHealthyMs).sorted().toArray();
+    double[] runningFor = samples.stream().mapToDouble(Sample::processRunningForSeconds).sorted().toArray();
+    long[] rss = samples.stream().mapToLong(Sample::rssMiB).sorted().toArray();
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("timeToHealthyMsP50", healthy[healthy.length / 2]);
+    summary.put("timeToHealthyMsMin", healthy[0]);
+    summary.put("timeToHealthyMsMax", healthy[healthy.length - 1]);
+    summary.put("processRunningForSecondsP50", runningFor[runningFor.length / 2]);
+    summary.put("rssMiBP50", rss[rss.length / 2]);
+    summary.put("samples", samples);
+    return summary;
+  }
+
+  private record Sample(long timeToHealthyMs, double processRunningForSeconds, long rssMiB) {
+
+  }
+}
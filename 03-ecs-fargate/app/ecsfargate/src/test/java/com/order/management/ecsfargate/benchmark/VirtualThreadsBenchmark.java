@@ -0,0 +1,12 @@
+package com.order.management.ecsfargate.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadsBenchmark extends AbstractThreadModelBenchmark {
+
+  @Override
+  protected String threadModel() {
+    return "virtual";
+  }
+}
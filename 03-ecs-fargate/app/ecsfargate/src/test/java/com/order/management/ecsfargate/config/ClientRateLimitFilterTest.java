@@ -0,0 +1,171 @@
+package com.order.management.ecsfargate.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+class ClientRateLimitFilterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final MockEnvironment environment = new MockEnvironment()
+      .withProperty("orders.rate-limit.read.per-second", "10")
+      .withProperty("orders.rate-limit.read.burst", "5")
+      .withProperty("orders.rate-limit.write.per-second", "1")
+      .withProperty("orders.rate-limit.write.burst", "2");
+
+  @AfterEach
+  void clearSecurityContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void writes_beyondBurst_return429_withRetryAfter_whileReadsStillPass() throws Exception {
+
+    // given
+    ClientRateLimitFilter filter = filter();
+
+    // when
+    MockHttpServletResponse first = perform(filter, "integration-a", "POST");
+    MockHttpServletResponse second = perform(filter, "integration-a", "POST");
+    MockHttpServletResponse third = perform(filter, "integration-a", "POST");
+    MockHttpServletResponse read = perform(filter, "integration-a", "GET");
+
+    // then
+    assertThat(first.getStatus()).isEqualTo(200);
+    assertThat(first.getHeader(ClientRateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+    assertThat(first.getHeader(ClientRateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+    assertThat(second.getHeader(ClientRateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+    assertThat(second.getHeader(ClientRateLimitFilter.RESET_HEADER)).isEqualTo("2");
+
+    assertThat(third.getStatus()).isEqualTo(429);
+    assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(meterRegistry.get("orders.rate_limit.rejected").tag("route", "write").counter().count())
+        .isEqualTo(1);
+
+    assertThat(read.getStatus()).isEqualTo(200);
+    assertThat(read.getHeader(ClientRateLimitFilter.LIMIT_HEADER)).isEqualTo("5");
+  }
+
+  @Test
+  void bucket_refillsOverTime() throws Exception {
+
+    // given
+    ClientRateLimitFilter filter = filter();
+    perform(filter, "integration-a", "POST");
+    perform(filter, "integration-a", "POST");
+
+    // when
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    MockHttpServletResponse tooEarly = perform(filter, "integration-a", "POST");
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    MockHttpServletResponse refilled = perform(filter, "integration-a", "POST");
+
+    // then
+    assertThat(tooEarly.getStatus()).isEqualTo(429);
+    assertThat(refilled.getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void clients_areLimitedIndependently_withPerClientOverrides() throws Exception {
+
+    // given
+    environment.setProperty("orders.rate-limit.clients.integration-b.write.burst", "1");
+    ClientRateLimitFilter filter = filter();
+
+    // when
+    perform(filter, "integration-a", "POST");
+    perform(filter, "integration-a", "POST");
+    MockHttpServletResponse a = perform(filter, "integration-a", "POST");
+    MockHttpServletResponse b = perform(filter, "integration-b", "POST");
+    MockHttpServletResponse bAgain = perform(filter, "integration-b", "POST");
+
+    // then
+    assertThat(a.getStatus()).isEqualTo(429);
+    assertThat(b.getStatus()).isEqualTo(200);
+    assertThat(b.getHeader(ClientRateLimitFilter.LIMIT_HEADER)).isEqualTo("1");
+    assertThat(bAgain.getStatus()).isEqualTo(429);
+  }
+
+  @Test
+  void requestsWithoutJwt_areNotLimited() throws Exception {
+
+    // given
+    ClientRateLimitFilter filter = filter();
+
+    // when
+    MockHttpServletResponse response = null;
+    for (int i = 0; i < 10; i++) {
+      response = new MockHttpServletResponse();
+      filter.doFilter(new MockHttpServletRequest("POST", "/orders"), response, new MockFilterChain());
+    }
+
+    // then
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader(ClientRateLimitFilter.LIMIT_HEADER)).isNull();
+  }
+
+  @Test
+  void idleClients_areEvicted_soTheMapStaysBounded() throws Exception {
+
+    // given
+    environment.setProperty("orders.rate-limit.max-clients", "2");
+    environment.setProperty("orders.rate-limit.idle-timeout", "5s");
+    ClientRateLimitFilter filter = filter();
+    perform(filter, "integration-a", "POST");
+    perform(filter, "integration-b", "POST");
+
+    // when: still active, so a third client shares the overflow buckets
+    perform(filter, "integration-c", "POST");
+    double whileActive = clients();
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    perform(filter, "integration-c", "POST");
+    double afterIdle = clients();
+
+    // then
+    assertThat(whileActive).isEqualTo(2);
+    assertThat(afterIdle).isEqualTo(1);
+  }
+
+  private ClientRateLimitFilter filter() {
+    // as in the application, so that durations such as "5s" convert
+    environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+    return new ClientRateLimitFilter(environment, meterRegistry, clock::get);
+  }
+
+  private double clients() {
+    return meterRegistry.get("orders.rate_limit.clients").gauge().value();
+  }
+
+  private static MockHttpServletResponse perform(ClientRateLimitFilter filter, String clientId, String method)
+      throws ServletException, IOException {
+    Jwt jwt = Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .claim("client_id", clientId)
+        .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(new MockHttpServletRequest(method, "/orders"), response, new MockFilterChain());
+    return response;
+  }
+}
@@ -0,0 +1,114 @@
+package com.order.management.ecsfargate.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.order.management.ecsfargate.entity.Order;
+import com.order.management.ecsfargate.enums.OrderStatus;
+import com.order.management.ecsfargate.metrics.OrderMetrics;
+import com.order.management.ecsfargate.service.OrderService;
+import com.order.management.ecsfargate.web.OrderController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * The concurrency limit as wired into the production security chain: rejected credentials must not use up slots.
+ */
+@WebMvcTest(controllers = OrderController.class, properties = {
+    "spring.security.oauth2.resourceserver.jwt.issuer-uri=https://example.test/issuer",
+    "cognito.user.pool.client.id=integration-a",
+    "orders.rate-limit.enabled=false",
+    // fixed at 2: one slow request leaves no room for another of normal priority
+    "orders.concurrency-limit.initial=2",
+    "orders.concurrency-limit.min=2",
+    "orders.concurrency-limit.max=2"
+})
+@Import({SecurityConfig.class, OrderMetrics.class, SimpleMeterRegistry.class})
+class ConcurrencyLimitSecurityTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @MockitoBean
+  private OrderService orderService;
+
+  @MockitoBean
+  private JwtDecoder jwtDecoder;
+
+  @MockitoBean
+  private RefreshingJwkSource jwkSource;
+
+  private final CountDownLatch entered = new CountDownLatch(1);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test
+  void atLimit_rejectedCredentials_get401_notShed() throws Exception {
+
+    // given
+    when(jwtDecoder.decode("valid")).thenReturn(Jwt.withTokenValue("valid")
+        .header("alg", "RS256")
+        .claim("client_id", "integration-a")
+        .expiresAt(Instant.now().plusSeconds(3600))
+        .build());
+    when(jwtDecoder.decode("forged")).thenThrow(new BadJwtException("bad signature"));
+    when(orderService.getOrder(1L)).thenAnswer(invocation -> {
+      entered.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return order(1L);
+    });
+
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      // the slow request holds the only slot a normal request may take
+      Future<?> slow = clients.submit(() -> mvc.perform(get("/orders/1")
+          .header(HttpHeaders.AUTHORIZATION, "Bearer valid")).andReturn());
+      assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+      try {
+        // when && then
+        mvc.perform(get("/orders/2").header(HttpHeaders.AUTHORIZATION, "Bearer forged"))
+            .andExpect(status().isUnauthorized());
+        mvc.perform(get("/orders/2"))
+            .andExpect(status().isUnauthorized());
+        mvc.perform(get("/orders/2").header(HttpHeaders.AUTHORIZATION, "Bearer valid"))
+            .andExpect(status().isServiceUnavailable());
+      } finally {
+        release.countDown();
+      }
+      slow.get(10, TimeUnit.SECONDS);
+    }
+    assertThat(meterRegistry.get("orders.concurrency.rejected").tag("priority", "normal").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("orders.concurrency.in_flight").gauge().value()).isZero();
+  }
+
+  private static Order order(long id) {
+    Order order = new Order();
+    order.setId(id);
+    order.setStatus(OrderStatus.CREATED);
+    order.setTotalAmount(new BigDecimal("100"));
+    return order;
+  }
+}
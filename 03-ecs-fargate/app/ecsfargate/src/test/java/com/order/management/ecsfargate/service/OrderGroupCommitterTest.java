@@ -0,0 +1,137 @@
+package com.order.management.ecsfargate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.order.management.ecsfargate.AbstractEcsFargateApplicationTests;
+import com.order.management.ecsfargate.entity.Order;
+import com.order.management.ecsfargate.enums.OrderStatus;
+import com.order.management.ecsfargate.repository.OrderRepository;
+import com.order.management.ecsfargate.service.exception.OrderCreateRejectedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+// a generous wait, so concurrent creates reliably land in the same batch
+@TestPropertySource(properties = {
+    "orders.group-commit.enabled=true",
+    "orders.group-commit.batch-size=20",
+    "orders.group-commit.max-wait=200ms"
+})
+class OrderGroupCommitterTest extends AbstractEcsFargateApplicationTests {
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void createOrder_concurrentCallers_shareCommits_andEachGetsItsOwnOrder() throws Exception {
+
+    // given
+    DistributionSummary batchSizes = meterRegistry.get("orders.group_commit.batch.size").summary();
+    long batchesBefore = batchSizes.count();
+
+    // when
+    List<Future<Order>> futures;
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      futures = IntStream.rangeClosed(1, 60)
+          .mapToObj(i -> callers.submit(() -> orderService.createOrder(new BigDecimal(i + ".00"))))
+          .toList();
+    }
+
+    // then
+    List<Order> created = futures.stream().map(Future::resultNow).toList();
+    assertThat(created).extracting(Order::getId).doesNotContainNull().doesNotHaveDuplicates();
+    for (int i = 0; i < created.size(); i++) {
+      Order order = created.get(i);
+      assertThat(order.getTotalAmount()).isEqualByComparingTo(new BigDecimal(i + 1));
+      assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+      assertThat(order.getCreatedAt()).isNotNull();
+    }
+    assertThat(orderRepository.count()).isEqualTo(60);
+
+    long batches = batchSizes.count() - batchesBefore;
+    assertThat(batches).isBetween(3L, 59L);
+  }
+
+  @Test
+  void createOrder_singleCaller_isWrittenAfterMaxWait() {
+
+    // given && when
+    Order order = orderService.createOrder(new BigDecimal("10.00"));
+
+    // then
+    assertThat(orderRepository.findById(order.getId()))
+        .get()
+        .extracting(Order::getTotalAmount)
+        .satisfies(amount -> assertThat(amount).isEqualByComparingTo("10.00"));
+  }
+
+  @Test
+  void createOrder_afterWriterError_keepsWriting() {
+
+    // given
+    OrderRepository failingRepository = mock(OrderRepository.class);
+    when(failingRepository.saveAll(anyList()))
+        .thenThrow(new StackOverflowError())
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    OrderGroupCommitter committer = committer(failingRepository, Duration.ofSeconds(5));
+
+    // when && then
+    try {
+      assertThatThrownBy(() -> committer.createOrder(new BigDecimal("10.00")))
+          .hasRootCauseInstanceOf(StackOverflowError.class);
+      assertThat(committer.createOrder(new BigDecimal("20.00")).getTotalAmount()).isEqualByComparingTo("20.00");
+    } finally {
+      committer.stop();
+    }
+  }
+
+  @Test
+  void createOrder_batchNotCommittedInTime_isRejected() {
+
+    // given
+    CountDownLatch release = new CountDownLatch(1);
+    OrderRepository slowRepository = mock(OrderRepository.class);
+    when(slowRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      release.await();
+      return invocation.getArgument(0);
+    });
+    OrderGroupCommitter committer = committer(slowRepository, Duration.ofMillis(100));
+
+    // when && then
+    try {
+      assertThatThrownBy(() -> committer.createOrder(new BigDecimal("10.00")))
+          .isInstanceOf(OrderCreateRejectedException.class);
+    } finally {
+      release.countDown();
+      committer.stop();
+    }
+  }
+
+  private static OrderGroupCommitter committer(OrderRepository repository, Duration timeout) {
+    OrderGroupCommitter committer =
+        new OrderGroupCommitter(repository, new SimpleMeterRegistry(), 1, Duration.ZERO, 10, timeout);
+    committer.start();
+    return committer;
+  }
+}
@@ -0,0 +1,13 @@
+package com.order.management.ecsfargatereactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class EcsFargateReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(EcsFargateReactiveApplication.class, args);
+	}
+
+}
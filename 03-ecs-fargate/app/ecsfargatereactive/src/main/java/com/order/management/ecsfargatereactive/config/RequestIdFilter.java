@@ -0,0 +1,44 @@
+package com.order.management.ecsfargatereactive.config;
+
+import io.micrometer.context.ContextRegistry;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet RequestIdFilter. The request id travels in the Reactor context, and with
+ * spring.reactor.context-propagation=auto it is restored into the MDC on whichever thread logs.
+ */
+@Component
+public class RequestIdFilter implements WebFilter {
+
+  public static final String HEADER_NAME = "X-Request-Id";
+  public static final String MDC_KEY = "requestId";
+
+  static {
+    ContextRegistry.getInstance().registerThreadLocalAccessor(
+        MDC_KEY,
+        () -> MDC.get(MDC_KEY),
+        value -> MDC.put(MDC_KEY, value),
+        () -> MDC.remove(MDC_KEY)
+    );
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+    String requestId = Optional.ofNullable(exchange.getRequest().getHeaders().getFirst(HEADER_NAME))
+        .filter(s -> !s.isBlank())
+        .orElse(UUID.randomUUID().toString());
+
+    exchange.getResponse().getHeaders().set(HEADER_NAME, requestId);
+
+    return chain.filter(exchange)
+        .contextWrite(ctx -> ctx.put(MDC_KEY, requestId));
+  }
+}
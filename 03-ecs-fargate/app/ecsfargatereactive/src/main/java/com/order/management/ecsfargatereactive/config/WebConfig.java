@@ -0,0 +1,22 @@
+package com.order.management.ecsfargatereactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Spring Boot only registers Pageable/Sort argument resolution for servlet apps; do it here for WebFlux.
+ */
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+
+  @Override
+  public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+    configurer.addCustomResolver(
+        new ReactiveSortHandlerMethodArgumentResolver(),
+        new ReactivePageableHandlerMethodArgumentResolver()
+    );
+  }
+}
@@ -0,0 +1,78 @@
+package com.order.management.ecsfargatereactive.entity;
+
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Same table as the JPA entity. Rows are inserted and cancelled with UPDATE/INSERT ... RETURNING statements, so
+ * created_at/updated_at come from the database.
+ */
+@Table("orders")
+public class Order {
+
+  @Id
+  private Long id;
+
+  @Version
+  private Long version;
+
+  private OrderStatus status;
+
+  private BigDecimal totalAmount;
+
+  private Instant createdAt;
+
+  private Instant updatedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(Instant updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public BigDecimal getTotalAmount() {
+    return totalAmount;
+  }
+
+  public void setTotalAmount(BigDecimal totalAmount) {
+    this.totalAmount = totalAmount;
+  }
+
+  public OrderStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(OrderStatus status) {
+    this.status = status;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+}
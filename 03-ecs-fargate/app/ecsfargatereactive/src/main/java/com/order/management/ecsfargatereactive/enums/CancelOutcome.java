@@ -0,0 +1,7 @@
+package com.order.management.ecsfargatereactive.enums;
+
+public enum CancelOutcome {
+  CANCELLED,
+  ALREADY_CANCELLED,
+  NOT_FOUND
+}
@@ -0,0 +1,6 @@
+package com.order.management.ecsfargatereactive.enums;
+
+public enum OrderStatus {
+  CREATED,
+  CANCELLED
+}
@@ -0,0 +1,66 @@
+package com.order.management.ecsfargatereactive.repository;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.util.Collection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface OrderRepository extends R2dbcRepository<Order, Long>, OrderRepositoryCustom {
+
+  Flux<Order> findAllBy(Pageable pageable);
+
+  Flux<Order> findAllByStatus(OrderStatus status, Pageable pageable);
+
+  Mono<Long> countByStatus(OrderStatus status);
+
+  /**
+   * Reads only the version, so a conditional GET can be answered without loading the order.
+   */
+  @Query("SELECT version FROM orders WHERE id = :id")
+  Mono<Long> findVersionById(Long id);
+
+  /**
+   * Keyset page: seeks on the primary key instead of skipping rows. The pageable only carries the limit and sort.
+   */
+  Flux<Order> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+  Flux<Order> findByStatusAndIdGreaterThan(OrderStatus status, Long afterId, Pageable pageable);
+
+  /**
+   * Inserts a CREATED order and returns the full row, including the database-generated timestamps.
+   */
+  @Query("""
+      INSERT INTO orders (status, total_amount)
+      VALUES ('CREATED', :totalAmount)
+      RETURNING *
+      """)
+  Mono<Order> insertCreated(BigDecimal totalAmount);
+
+  /**
+   * Cancels a CREATED order and returns the updated row in the same statement. Empty when the order does not exist
+   * or is not in CREATED state.
+   */
+  @Query("""
+      UPDATE orders
+      SET status = 'CANCELLED', version = version + 1, updated_at = now()
+      WHERE id = :id AND status = 'CREATED'
+      RETURNING *
+      """)
+  Mono<Order> cancelIfCreated(Long id);
+
+  /**
+   * Same as {@link #cancelIfCreated(Long)}, but only while the order is still at one of {@code versions}.
+   */
+  @Query("""
+      UPDATE orders
+      SET status = 'CANCELLED', version = version + 1, updated_at = now()
+      WHERE id = :id AND status = 'CREATED' AND version IN (:versions)
+      RETURNING *
+      """)
+  Mono<Order> cancelIfCreatedAtVersion(Long id, Collection<Long> versions);
+}
@@ -0,0 +1,46 @@
+package com.order.management.ecsfargatereactive.repository;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.CancelOutcome;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Order statements written directly against the R2DBC DatabaseClient.
+ */
+public interface OrderRepositoryCustom {
+
+  /**
+   * Inserts all orders as CREATED with one multi-row INSERT ... RETURNING, in the order given.
+   */
+  Flux<Order> insertAllCreated(List<BigDecimal> totalAmounts);
+
+  /**
+   * Returns up to one more row than the page size, so callers can tell whether a next page exists without counting.
+   */
+  Flux<Order> findSlice(OrderStatus status, Pageable pageable);
+
+  /**
+   * Returns the query planner's row estimate for orders, optionally filtered by status.
+   */
+  Mono<Long> estimateCount(OrderStatus status);
+
+  /**
+   * Cancels every CREATED order among {@code ids} with one set-based UPDATE. Returns the outcome for each distinct
+   * id, in the order given.
+   */
+  Mono<Map<Long, CancelOutcome>> cancelAll(Collection<Long> ids);
+
+  /**
+   * Emits every order matching the filters, each optional, in {@code (created_at, id)} order. Rows are fetched from
+   * a server-side cursor in batches as downstream demand arrives, so memory stays constant however many match.
+   */
+  Flux<Order> findForExport(OrderStatus status, Instant createdFrom, Instant createdTo);
+}
@@ -0,0 +1,168 @@
+package com.order.management.ecsfargatereactive.repository;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.CancelOutcome;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+  // Amounts are bound as text and cast on the server, which keeps their scale exactly as submitted.
+  private static final String INSERT_ALL_SQL = """
+      INSERT INTO orders (status, total_amount)
+      SELECT 'CREATED', t.amount
+      FROM unnest(CAST(:amounts AS numeric[])) WITH ORDINALITY AS t(amount, ord)
+      ORDER BY t.ord
+      RETURNING *
+      """;
+
+  // The outer SELECT sees the table as it was before the UPDATE, so a requested id that exists but was not
+  // updated by this statement is one that was already cancelled.
+  private static final String CANCEL_ALL_SQL = """
+      WITH requested AS (
+          SELECT id FROM unnest(CAST(:ids AS bigint[])) AS id
+      ),
+      cancelled AS (
+          UPDATE orders o
+          SET status = 'CANCELLED', version = o.version + 1, updated_at = now()
+          WHERE o.id IN (SELECT id FROM requested) AND o.status = 'CREATED'
+          RETURNING o.id
+      )
+      SELECT r.id,
+             CASE
+                 WHEN c.id IS NOT NULL THEN 'CANCELLED'
+                 WHEN o.id IS NOT NULL THEN 'ALREADY_CANCELLED'
+                 ELSE 'NOT_FOUND'
+             END AS outcome
+      FROM requested r
+      LEFT JOIN cancelled c ON c.id = r.id
+      LEFT JOIN orders o ON o.id = r.id
+      """;
+
+  private final DatabaseClient databaseClient;
+
+  private final R2dbcEntityTemplate entityTemplate;
+
+  private final int exportFetchSize;
+
+  OrderRepositoryCustomImpl(DatabaseClient databaseClient, R2dbcEntityTemplate entityTemplate,
+      @Value("${orders.export.fetch-size:1000}") int exportFetchSize) {
+    this.databaseClient = databaseClient;
+    this.entityTemplate = entityTemplate;
+    this.exportFetchSize = exportFetchSize;
+  }
+
+  @Override
+  public Flux<Order> insertAllCreated(List<BigDecimal> totalAmounts) {
+    if (totalAmounts.isEmpty()) {
+      return Flux.empty();
+    }
+    String[] amounts = totalAmounts.stream().map(BigDecimal::toPlainString).toArray(String[]::new);
+
+    // ids are handed out in ordinality order, so sorting by id restores the request order
+    return databaseClient.sql(INSERT_ALL_SQL)
+        .bind("amounts", amounts)
+        .map((row, metadata) -> entityTemplate.getConverter().read(Order.class, row, metadata))
+        .all()
+        .sort(Comparator.comparing(Order::getId));
+  }
+
+  @Override
+  public Flux<Order> findSlice(OrderStatus status, Pageable pageable) {
+    Criteria criteria = status == null ? Criteria.empty() : Criteria.where("status").is(status);
+
+    return entityTemplate.select(Order.class)
+        .matching(Query.query(criteria).with(pageable).limit(pageable.getPageSize() + 1))
+        .all();
+  }
+
+  @Override
+  public Mono<Long> estimateCount(OrderStatus status) {
+    // EXPLAIN plans without executing; the status is an enum constant, so inlining it is safe
+    String sql = status == null
+        ? "EXPLAIN (FORMAT JSON) SELECT 1 FROM orders"
+        : "EXPLAIN (FORMAT JSON) SELECT 1 FROM orders WHERE status = '" + status.name() + "'";
+
+    return databaseClient.sql(sql)
+        .map(row -> row.get(0, String.class))
+        .one()
+        .map(plan -> {
+          // the first "Plan Rows" belongs to the top-level plan node
+          Matcher matcher = PLAN_ROWS.matcher(plan);
+          return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+        })
+        .defaultIfEmpty(0L);
+  }
+
+  @Override
+  public Mono<Map<Long, CancelOutcome>> cancelAll(Collection<Long> ids) {
+    Long[] distinctIds = new LinkedHashSet<>(ids).toArray(Long[]::new);
+    if (distinctIds.length == 0) {
+      return Mono.just(new LinkedHashMap<>());
+    }
+
+    return databaseClient.sql(CANCEL_ALL_SQL)
+        .bind("ids", distinctIds)
+        .map(row -> Map.entry(row.get("id", Long.class), CancelOutcome.valueOf(row.get("outcome", String.class))))
+        .all()
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .map(results -> {
+          // report in request order regardless of the order rows came back in
+          Map<Long, CancelOutcome> outcomes = new LinkedHashMap<>();
+          for (Long id : distinctIds) {
+            outcomes.put(id, results.get(id));
+          }
+          return outcomes;
+        });
+  }
+
+  @Override
+  public Flux<Order> findForExport(OrderStatus status, Instant createdFrom, Instant createdTo) {
+    StringBuilder sql = new StringBuilder("SELECT * FROM orders WHERE true");
+    if (status != null) {
+      sql.append(" AND status = :status");
+    }
+    if (createdFrom != null) {
+      sql.append(" AND created_at >= :createdFrom");
+    }
+    if (createdTo != null) {
+      sql.append(" AND created_at < :createdTo");
+    }
+    // (created_at, id) and (status, created_at, id) return rows in this order, so nothing is sorted up front
+    sql.append(" ORDER BY created_at, id");
+
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+        .filter(statement -> statement.fetchSize(exportFetchSize));
+    if (status != null) {
+      spec = spec.bind("status", status.name());
+    }
+    if (createdFrom != null) {
+      spec = spec.bind("createdFrom", createdFrom);
+    }
+    if (createdTo != null) {
+      spec = spec.bind("createdTo", createdTo);
+    }
+    return spec
+        .map((row, metadata) -> entityTemplate.getConverter().read(Order.class, row, metadata))
+        .all();
+  }
+}
@@ -0,0 +1,150 @@
+package com.order.management.ecsfargatereactive.service;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.CancelOutcome;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import com.order.management.ecsfargatereactive.repository.OrderRepository;
+import com.order.management.ecsfargatereactive.service.exception.OrderNotFoundException;
+import com.order.management.ecsfargatereactive.service.exception.OrderVersionMismatchException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class OrderService {
+
+  private final OrderRepository orderRepository;
+
+  public OrderService(OrderRepository orderRepository) {
+    this.orderRepository = orderRepository;
+  }
+
+  @Transactional
+  public Mono<Order> createOrder(BigDecimal totalAmount) {
+    return orderRepository.insertCreated(totalAmount);
+  }
+
+  /**
+   * Creates all orders with a single multi-row INSERT in one transaction.
+   */
+  @Transactional
+  public Flux<Order> createOrders(List<BigDecimal> totalAmounts) {
+    return orderRepository.insertAllCreated(totalAmounts);
+  }
+
+  @Transactional(readOnly = true)
+  public Mono<Order> getOrder(Long id) {
+
+    return orderRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(id)));
+  }
+
+  @Transactional(readOnly = true)
+  public Mono<Long> getOrderVersion(Long id) {
+
+    return orderRepository.findVersionById(id)
+        .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(id)));
+  }
+
+  @Transactional
+  public Mono<Order> cancelOrder(Long id) {
+
+    // Cancelling a CREATED order is a single UPDATE ... RETURNING. Only when nothing was updated do we look the
+    // order up, to tell an already cancelled order (returned as is) from a missing one.
+    return orderRepository.cancelIfCreated(id)
+        .switchIfEmpty(Mono.defer(() -> orderRepository.findById(id)))
+        .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(id)));
+  }
+
+  /**
+   * Cancels the order only if it is still at one of {@code expectedVersions}. An order that is already cancelled at
+   * an expected version is returned as is; any other version fails with {@link OrderVersionMismatchException}.
+   */
+  @Transactional
+  public Mono<Order> cancelOrder(Long id, Collection<Long> expectedVersions) {
+
+    Mono<Order> cancelled = expectedVersions.isEmpty()
+        ? Mono.empty()
+        : orderRepository.cancelIfCreatedAtVersion(id, expectedVersions);
+
+    return cancelled.switchIfEmpty(Mono.defer(() -> orderRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(id)))
+        .flatMap(order -> expectedVersions.contains(order.getVersion())
+            ? Mono.just(order)
+            : Mono.error(new OrderVersionMismatchException(id, order.getVersion())))));
+  }
+
+  /**
+   * Cancels many orders with a single UPDATE statement; entities are never loaded.
+   */
+  @Transactional
+  public Mono<Map<Long, CancelOutcome>> cancelOrders(List<Long> ids) {
+    return orderRepository.cancelAll(ids);
+  }
+
+  @Transactional(readOnly = true)
+  public Mono<Page<Order>> getOrders(OrderStatus status, Pageable pageable) {
+    Flux<Order> content = status == null
+        ? orderRepository.findAllBy(pageable)
+        : orderRepository.findAllByStatus(status, pageable);
+    Mono<Long> total = status == null
+        ? orderRepository.count()
+        : orderRepository.countByStatus(status);
+
+    return content.collectList()
+        .zipWith(total)
+        .map(tuple -> new PageImpl<>(tuple.getT1(), pageable, tuple.getT2()));
+  }
+
+  @Transactional(readOnly = true)
+  public Mono<Slice<Order>> getOrderSlice(OrderStatus status, Pageable pageable) {
+    return orderRepository.findSlice(status, pageable)
+        .collectList()
+        .map(orders -> {
+          boolean hasNext = orders.size() > pageable.getPageSize();
+          List<Order> content = hasNext ? orders.subList(0, pageable.getPageSize()) : orders;
+          return new SliceImpl<>(content, pageable, hasNext);
+        });
+  }
+
+  @Transactional(readOnly = true)
+  public Mono<Long> estimateOrderCount(OrderStatus status) {
+    return orderRepository.estimateCount(status);
+  }
+
+  /**
+   * Returns up to {@code limit} orders with an id greater than {@code afterId}, ordered by id. A {@code null}
+   * {@code afterId} starts from the beginning.
+   */
+  @Transactional(readOnly = true)
+  public Flux<Order> getOrdersAfter(OrderStatus status, Long afterId, int limit) {
+    Long from = afterId == null ? 0L : afterId;
+    Pageable firstPage = PageRequest.of(0, limit, Sort.by("id"));
+    if (status == null) {
+      return orderRepository.findByIdGreaterThan(from, firstPage);
+    }
+    return orderRepository.findByStatusAndIdGreaterThan(status, from, firstPage);
+  }
+
+  /**
+   * Emits every order matching the optional filters, oldest first, as fast as the subscriber consumes them. The
+   * read-only transaction holds the cursor open and ends with the stream.
+   */
+  @Transactional(readOnly = true)
+  public Flux<Order> exportOrders(OrderStatus status, Instant createdFrom, Instant createdTo) {
+    return orderRepository.findForExport(status, createdFrom, createdTo);
+  }
+}
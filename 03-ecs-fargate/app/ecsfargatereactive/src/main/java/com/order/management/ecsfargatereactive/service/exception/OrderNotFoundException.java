@@ -0,0 +1,8 @@
+package com.order.management.ecsfargatereactive.service.exception;
+
+public class OrderNotFoundException extends RuntimeException {
+
+  public OrderNotFoundException(Long id) {
+    super("Order not found: " + id);
+  }
+}
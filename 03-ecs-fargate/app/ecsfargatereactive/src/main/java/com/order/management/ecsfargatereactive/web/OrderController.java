@@ -0,0 +1,465 @@
+package com.order.management.ecsfargatereactive.web;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import com.order.management.ecsfargatereactive.service.OrderService;
+import com.order.management.ecsfargatereactive.web.cursor.OrderCursor;
+import com.order.management.ecsfargatereactive.web.dto.CancelOrderResult;
+import com.order.management.ecsfargatereactive.web.dto.CancelOrdersRequest;
+import com.order.management.ecsfargatereactive.web.dto.CreateOrderRequest;
+import com.order.management.ecsfargatereactive.web.dto.CreateOrdersBatchRequest;
+import com.order.management.ecsfargatereactive.web.dto.OrderCursorPage;
+import com.order.management.ecsfargatereactive.web.dto.OrderEstimatedPage;
+import com.order.management.ecsfargatereactive.web.dto.OrderResponse;
+import com.order.management.ecsfargatereactive.web.etag.OrderETag;
+import com.order.management.ecsfargatereactive.web.mapper.OrderMapper;
+import com.order.management.ecsfargatereactive.web.sort.OrderSort;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springdoc.core.converters.models.PageableAsQueryParam;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Tag(name = "Orders", description = "Operations related to orders")
+@RestController
+@RequestMapping("/orders")
+public class OrderController {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+
+  static final int MAX_SCROLL_SIZE = 1000;
+
+  private final OrderService orderService;
+
+  public OrderController(OrderService orderService) {
+    this.orderService = orderService;
+  }
+
+  @PostMapping
+  @Operation(
+      summary = "Create an order",
+      description = "Creates an order and returns the created resource plus a Location header."
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "201",
+          description = "Order created",
+          content = @Content(schema = @Schema(implementation = OrderResponse.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Validation error", content = @Content)
+  })
+  public Mono<ResponseEntity<OrderResponse>> createOrder(
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          description = "Order creation payload",
+          content = @Content(schema = @Schema(implementation = CreateOrderRequest.class))
+      )
+      @RequestBody @Valid CreateOrderRequest request,
+      UriComponentsBuilder uriComponentsBuilder) {
+
+    return orderService.createOrder(request.totalAmount())
+        .doOnNext(order -> log.info("order created, orderId={}, status={}, totalAmount={}",
+            order.getId(), order.getStatus(), order.getTotalAmount()))
+        .map(order -> ResponseEntity.created(
+            uriComponentsBuilder.path("/orders/{id}")
+                .buildAndExpand(order.getId())
+                .toUri()
+        ).body(OrderMapper.toResponse(order)));
+  }
+
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Create orders in bulk",
+      description = "Creates up to " + CreateOrdersBatchRequest.MAX_ORDERS
+          + " orders in one transaction and returns them in request order."
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "201",
+          description = "Orders created",
+          content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResponse.class)))
+      ),
+      @ApiResponse(responseCode = "400", description = "Validation error", content = @Content)
+  })
+  public Mono<ResponseEntity<List<OrderResponse>>> createOrders(
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          description = "Batch order creation payload",
+          content = @Content(schema = @Schema(implementation = CreateOrdersBatchRequest.class))
+      )
+      @RequestBody @Valid CreateOrdersBatchRequest request) {
+
+    return orderService.createOrders(request.orders().stream().map(CreateOrderRequest::totalAmount).toList())
+        .map(OrderMapper::toResponse)
+        .collectList()
+        .doOnNext(orders -> log.info("orders created in batch, count={}", orders.size()))
+        .map(orders -> ResponseEntity.status(HttpStatus.CREATED).body(orders));
+  }
+
+  @GetMapping("/{id}")
+  @Operation(
+      summary = "Get an order by id",
+      description = """
+        The response carries a strong ETag derived from the order's version. Send it back in If-None-Match to get
+        304 Not Modified, without a body, while the order is unchanged.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Order found",
+          content = @Content(schema = @Schema(implementation = OrderResponse.class))
+      ),
+      @ApiResponse(responseCode = "304", description = "Order unchanged since the given ETag", content = @Content),
+      @ApiResponse(responseCode = "404", description = "Order not found", content = @Content)
+  })
+  public Mono<ResponseEntity<OrderResponse>> getOrder(
+      @Parameter(description = "Order id", example = "123") @PathVariable Long id,
+
+      @Parameter(description = "ETag of a previously fetched representation", example = "\"0\"")
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+    Mono<ResponseEntity<OrderResponse>> full = orderService.getOrder(id)
+        .map(order -> ResponseEntity.ok()
+            .eTag(OrderETag.format(order.getVersion()))
+            .body(OrderMapper.toResponse(order)));
+
+    if (ifNoneMatch == null) {
+      return full;
+    }
+
+    // a poller usually already has the current version; only the version column is read to confirm that
+    return orderService.getOrderVersion(id)
+        .flatMap(version -> OrderETag.noneMatchHits(ifNoneMatch, version)
+            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(OrderETag.format(version))
+                .<OrderResponse>build())
+            : full);
+  }
+
+  @PutMapping("/{id}/cancel")
+  @Operation(
+      summary = "Cancel an order",
+      description = """
+        Cancels an existing order by id.
+
+        Send the order's ETag in If-Match to cancel only if nobody changed the order since it was read.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Order canceled successfully",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = OrderResponse.class),
+              examples = @ExampleObject(
+                  name = "CancelledOrder",
+                  summary = "Cancelled order example",
+                  value = """
+                    {
+                      "id": 1,
+                      "status": "CANCELLED",
+                      "totalAmount": 100.00,
+                      "createdAt": "2025-01-01T10:00:00Z",
+                      "updatedAt": "2025-01-01T10:05:00Z"
+                    }
+                    """
+              )
+          )
+      ),
+      @ApiResponse(responseCode = "404", description = "Order not found", content = @Content),
+      @ApiResponse(responseCode = "409", description = "Order cannot be canceled in its current state", content = @Content),
+      @ApiResponse(responseCode = "412", description = "Order changed since the given ETag", content = @Content)
+  })
+  public Mono<ResponseEntity<OrderResponse>> cancelOrder(
+      @Parameter(description = "Order id", example = "123")
+      @PathVariable Long id,
+
+      @Parameter(description = "Expected ETag of the order", example = "\"0\"")
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+    Mono<Order> canceledOrder = OrderETag.matchesAny(ifMatch)
+        ? orderService.cancelOrder(id)
+        : orderService.cancelOrder(id, OrderETag.versions(ifMatch));
+
+    return canceledOrder
+        .map(order -> ResponseEntity.ok()
+            .eTag(OrderETag.format(order.getVersion()))
+            .body(OrderMapper.toResponse(order)));
+  }
+
+  @PostMapping("/cancel")
+  @Operation(
+      summary = "Cancel orders in bulk",
+      description = "Cancels up to " + CancelOrdersRequest.MAX_IDS + " orders with a single database statement"
+          + " and reports the outcome for each id: CANCELLED, ALREADY_CANCELLED or NOT_FOUND."
+          + " Duplicate ids are reported once."
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Outcome per requested id",
+          content = @Content(array = @ArraySchema(schema = @Schema(implementation = CancelOrderResult.class)))
+      ),
+      @ApiResponse(responseCode = "400", description = "Validation error", content = @Content)
+  })
+  public Mono<ResponseEntity<List<CancelOrderResult>>> cancelOrders(
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          description = "Ids of the orders to cancel",
+          content = @Content(schema = @Schema(implementation = CancelOrdersRequest.class))
+      )
+      @RequestBody @Valid CancelOrdersRequest request) {
+
+    return orderService.cancelOrders(request.ids())
+        .map(outcomes -> outcomes.entrySet()
+            .stream()
+            .map(e -> new CancelOrderResult(e.getKey(), e.getValue()))
+            .toList())
+        .map(ResponseEntity::ok);
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "List orders",
+      description = """
+        Returns orders, optionally filtered by status.
+
+        Defaults:
+        - page=0
+        - size=20
+        - sort=id,asc
+
+        Sortable by id or createdAt (ties broken by id); other sort properties are rejected with 400.
+
+        The total is computed with a count query on every request. Use total=none to skip it,
+        or total=estimated for an approximate total.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Page of orders returned"
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  @PageableAsQueryParam
+  public Mono<ResponseEntity<Page<OrderResponse>>> listOrders(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @ParameterObject
+      @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
+      Pageable pageable
+  ) {
+    return orderService.getOrders(status, OrderSort.indexed(pageable))
+        .map(page -> ResponseEntity.ok(page.map(OrderMapper::toResponse)));
+  }
+
+  @GetMapping(params = "total=none")
+  @Operation(
+      summary = "List orders without a total",
+      description = """
+        Same as listing orders, but no count query is run; the response only tells whether a next page exists.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Slice of orders returned"
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  @PageableAsQueryParam
+  public Mono<ResponseEntity<Slice<OrderResponse>>> listOrdersWithoutTotal(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @ParameterObject
+      @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
+      Pageable pageable
+  ) {
+    return orderService.getOrderSlice(status, OrderSort.indexed(pageable))
+        .map(slice -> ResponseEntity.ok(slice.map(OrderMapper::toResponse)));
+  }
+
+  @GetMapping(params = "total=estimated")
+  @Operation(
+      summary = "List orders with an estimated total",
+      description = """
+        Same as listing orders, but the total is the query planner's row estimate instead of an exact count.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Page of orders with an estimated total returned",
+          content = @Content(schema = @Schema(implementation = OrderEstimatedPage.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  @PageableAsQueryParam
+  public Mono<ResponseEntity<OrderEstimatedPage>> listOrdersWithEstimatedTotal(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @ParameterObject
+      @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC)
+      Pageable pageable
+  ) {
+    return orderService.getOrderSlice(status, OrderSort.indexed(pageable))
+        .zipWith(orderService.estimateOrderCount(status))
+        .map(tuple -> {
+          Slice<Order> slice = tuple.getT1();
+
+          // stale statistics can undershoot; never report fewer orders than this request has already seen
+          long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements()
+              + (slice.hasNext() ? 1 : 0);
+          long estimatedTotal = Math.max(tuple.getT2(), seen);
+
+          return ResponseEntity.ok(new OrderEstimatedPage(
+              slice.getContent().stream().map(OrderMapper::toResponse).toList(),
+              slice.getNumber(),
+              slice.getSize(),
+              slice.hasNext(),
+              estimatedTotal
+          ));
+        });
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll through orders with a cursor",
+      description = """
+        Keyset pagination over orders ordered by id ascending, optionally filtered by status.
+        Unlike page/offset listing, every page costs the same no matter how deep it is.
+
+        Omit 'after' for the first page, then pass the returned nextCursor as 'after'.
+        nextCursor is null on the last page.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Orders after the cursor returned",
+          content = @Content(schema = @Schema(implementation = OrderCursorPage.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or query parameter", content = @Content)
+  })
+  public Mono<ResponseEntity<OrderCursorPage>> scrollOrders(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+      @RequestParam(name = "after", required = false) String after,
+
+      @Parameter(description = "Page size", example = "20")
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size
+  ) {
+    // fetch one extra row to learn whether another page exists without counting
+    return orderService.getOrdersAfter(status, OrderCursor.decode(after), size + 1)
+        .collectList()
+        .map(orders -> {
+          boolean hasNext = orders.size() > size;
+          List<Order> content = hasNext ? orders.subList(0, size) : orders;
+          String nextCursor = hasNext ? OrderCursor.encode(content.getLast().getId()) : null;
+
+          return ResponseEntity.ok(new OrderCursorPage(
+              content.stream().map(OrderMapper::toResponse).toList(),
+              size,
+              nextCursor
+          ));
+        });
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Export orders as NDJSON",
+      description = """
+        Streams every matching order as one JSON object per line (application/x-ndjson), oldest first.
+        All filters are optional; createdFrom is inclusive and createdTo exclusive.
+
+        Orders are read from the database with a cursor and written as the client consumes them, so one request
+        replaces paging through GET /orders, and memory use does not grow with the number of orders.
+        """
+  )
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Orders streamed",
+          content = @Content(
+              mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = OrderResponse.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "Invalid query parameter", content = @Content)
+  })
+  public Flux<OrderResponse> exportOrders(
+      @Parameter(
+          description = "Optional status filter",
+          schema = @Schema(implementation = OrderStatus.class),
+          example = "CREATED"
+      )
+      @RequestParam(name = "status", required = false) OrderStatus status,
+
+      @Parameter(description = "Only orders created at or after this instant", example = "2026-01-01T00:00:00Z")
+      @RequestParam(name = "createdFrom", required = false) Instant createdFrom,
+
+      @Parameter(description = "Only orders created before this instant", example = "2026-01-02T00:00:00Z")
+      @RequestParam(name = "createdTo", required = false) Instant createdTo
+  ) {
+    // each element is encoded and flushed as one line; backpressure from the connection paces the cursor
+    return orderService.exportOrders(status, createdFrom, createdTo)
+        .map(OrderMapper::toResponse);
+  }
+}
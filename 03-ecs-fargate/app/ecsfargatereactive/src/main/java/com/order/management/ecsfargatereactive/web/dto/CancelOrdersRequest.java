@@ -0,0 +1,21 @@
+package com.order.management.ecsfargatereactive.web.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CancelOrdersRequest(
+
+    @ArraySchema(
+        arraySchema = @Schema(description = "Ids of the orders to cancel, at most " + MAX_IDS),
+        schema = @Schema(example = "123")
+    )
+    @NotEmpty
+    @Size(max = MAX_IDS)
+    List<@NotNull Long> ids) {
+
+  public static final int MAX_IDS = 1000;
+}
@@ -0,0 +1,22 @@
+package com.order.management.ecsfargatereactive.web.mapper;
+
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.web.dto.OrderResponse;
+
+public final class OrderMapper {
+
+  private OrderMapper() {
+
+  }
+
+  public static OrderResponse toResponse(Order order) {
+
+    return new OrderResponse(
+        order.getId(),
+        order.getStatus(),
+        order.getTotalAmount(),
+        order.getCreatedAt(),
+        order.getUpdatedAt()
+    );
+  }
+}
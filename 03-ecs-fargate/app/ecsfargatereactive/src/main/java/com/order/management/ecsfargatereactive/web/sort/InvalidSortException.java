@@ -0,0 +1,8 @@
+package com.order.management.ecsfargatereactive.web.sort;
+
+public class InvalidSortException extends RuntimeException {
+
+  public InvalidSortException(String message) {
+    super("Invalid sort: " + message);
+  }
+}
@@ -0,0 +1,25 @@
+package com.order.management.ecsfargatereactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+
+// @Sql needs a JDBC DataSource, so the reactive tests clean up through the DatabaseClient instead
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public abstract class AbstractEcsFargateReactiveApplicationTests {
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @BeforeEach
+  @AfterEach
+  void cleanupTestData() {
+    databaseClient.sql("TRUNCATE TABLE orders CASCADE").then().block();
+  }
+}
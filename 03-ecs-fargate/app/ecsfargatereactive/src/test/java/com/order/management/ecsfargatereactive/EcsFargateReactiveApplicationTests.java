@@ -0,0 +1,11 @@
+package com.order.management.ecsfargatereactive;
+
+import org.junit.jupiter.api.Test;
+
+class EcsFargateReactiveApplicationTests extends AbstractEcsFargateReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,591 @@
+package com.order.management.ecsfargatereactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.ecsfargatereactive.config.TestSecurityConfig;
+import com.order.management.ecsfargatereactive.entity.Order;
+import com.order.management.ecsfargatereactive.enums.OrderStatus;
+import com.order.management.ecsfargatereactive.service.OrderService;
+import com.order.management.ecsfargatereactive.web.dto.CreateOrdersBatchRequest;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Same scenarios as the servlet service's OrderApiIntegrationTest, run over HTTP against the reactive stack.
+ */
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class OrderApiIntegrationTest extends AbstractEcsFargateReactiveApplicationTests {
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private JsonMapper jsonMapper;
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @Value("${local.server.port}")
+  private int port;
+
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUpClient() {
+    client = WebTestClient.bindToServer()
+        .baseUrl("http://localhost:" + port)
+        .build();
+  }
+
+  @Test
+  void create_returnsCreatedResource() {
+
+    // given && when && then
+    byte[] responseBody = client.post().uri("/orders")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("""
+            {
+              "totalAmount": 100.00
+            }
+            """)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().exists("Location")
+        .expectBody()
+        .jsonPath("$.id").exists()
+        .returnResult()
+        .getResponseBody();
+
+    Order createdOrder = jsonMapper.readValue(responseBody, Order.class);
+    assertThat(createdOrder.getId()).isNotNull();
+    assertThat(createdOrder.getVersion()).isEqualTo(0L);
+    assertThat(createdOrder.getStatus()).isEqualTo(OrderStatus.CREATED);
+    assertThat(createdOrder.getTotalAmount()).isEqualTo(new BigDecimal("100.00"));
+    assertThat(createdOrder.getCreatedAt()).isNotNull();
+    assertThat(createdOrder.getUpdatedAt()).isNotNull();
+  }
+
+  @Test
+  void create_invalidRequest_returns400() {
+
+    // given && when && then
+    client.post().uri("/orders")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{}")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void createBatch_persistsAllOrders() {
+
+    // given
+    String orders = IntStream.rangeClosed(1, CreateOrdersBatchRequest.MAX_ORDERS)
+        .mapToObj(i -> "{ \"totalAmount\": " + i + ".00 }")
+        .collect(Collectors.joining(",", "{ \"orders\": [", "] }"));
+
+    // when
+    byte[] responseBody = client.post().uri("/orders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(orders)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody()
+        .returnResult()
+        .getResponseBody();
+
+    // then
+    JsonNode created = jsonMapper.readTree(responseBody);
+    List<Long> ids = created.findValues("id").stream().map(JsonNode::asLong).toList();
+
+    assertThat(ids)
+        .hasSize(CreateOrdersBatchRequest.MAX_ORDERS)
+        .doesNotHaveDuplicates();
+    assertThat(created.get(0).path("totalAmount").decimalValue()).isEqualByComparingTo("1.00");
+    assertThat(created.get(0).path("status").asString()).isEqualTo("CREATED");
+    assertThat(created.get(0).path("createdAt").isNull()).isFalse();
+
+    client.get().uri("/orders/" + ids.getLast())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.totalAmount").isEqualTo(1000.00);
+  }
+
+  @Test
+  void createBatch_tooManyOrders_returns400() {
+
+    // given
+    String orders = IntStream.rangeClosed(1, CreateOrdersBatchRequest.MAX_ORDERS + 1)
+        .mapToObj(i -> "{ \"totalAmount\": 1.00 }")
+        .collect(Collectors.joining(",", "{ \"orders\": [", "] }"));
+
+    // when && then
+    client.post().uri("/orders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(orders)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void get_returnsResource_whenExists() {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100")).block();
+
+    // when & then
+    client.get().uri("/orders/" + order.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.id").isEqualTo(order.getId())
+        .jsonPath("$.status").isEqualTo("CREATED")
+        .jsonPath("$.totalAmount").isEqualTo(100.00)
+        .jsonPath("$.createdAt").exists()
+        .jsonPath("$.updatedAt").exists();
+  }
+
+  @Test
+  void get_returns404_whenNotExists() {
+
+    // when & then
+    client.get().uri("/orders/9999")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void cancel_returnsCancelledResource_andPersistsChange() {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00")).block();
+    Long id = order.getId();
+
+    // when & then: call cancel endpoint
+    client.put().uri("/orders/" + id + "/cancel")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.id").isEqualTo(id)
+        .jsonPath("$.status").isEqualTo("CANCELLED")
+        .jsonPath("$.totalAmount").isEqualTo(100.00)
+        .jsonPath("$.createdAt").exists()
+        .jsonPath("$.updatedAt").exists();
+
+    // and: verify persisted state via GET
+    client.get().uri("/orders/" + id)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.id").isEqualTo(id)
+        .jsonPath("$.status").isEqualTo("CANCELLED");
+  }
+
+  @Test
+  void cancel_isIdempotent_secondCallStillReturns200_andCancelled() {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00")).block();
+    Long id = order.getId();
+
+    // when
+    client.put().uri("/orders/" + id + "/cancel")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.status").isEqualTo("CANCELLED");
+
+    // then
+    client.put().uri("/orders/" + id + "/cancel")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.id").isEqualTo(id)
+        .jsonPath("$.status").isEqualTo("CANCELLED");
+  }
+
+  @Test
+  void get_withIfNoneMatch_returns304_untilOrderChanges() {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00")).block();
+    String eTag = client.get().uri("/orders/" + order.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().exists("ETag")
+        .returnResult(String.class)
+        .getResponseHeaders()
+        .getETag();
+
+    // when && then
+    client.get().uri("/orders/" + order.getId())
+        .header("If-None-Match", eTag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals("ETag", eTag);
+
+    client.put().uri("/orders/" + order.getId() + "/cancel")
+        .exchange()
+        .expectStatus().isOk();
+
+    client.get().uri("/orders/" + order.getId())
+        .header("If-None-Match", eTag)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.status").isEqualTo("CANCELLED");
+  }
+
+  @Test
+  void cancel_withIfMatch_rejectsStaleVersion() {
+
+    // given
+    Order order = orderService.createOrder(new BigDecimal("100.00")).block();
+    String eTag = client.get().uri("/orders/" + order.getId())
+        .exchange()
+        .returnResult(String.class)
+        .getResponseHeaders()
+        .getETag();
+
+    // when && then: the first writer wins
+    String newETag = client.put().uri("/orders/" + order.getId() + "/cancel")
+        .header("If-Match", eTag)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(String.class)
+        .getResponseHeaders()
+        .getETag();
+
+    // and: a second writer holding the old tag is told the order moved on
+    client.put().uri("/orders/" + order.getId() + "/cancel")
+        .header("If-Match", eTag)
+        .exchange()
+        .expectStatus().isEqualTo(412)
+        .expectHeader().valueEquals("ETag", newETag);
+
+    // and: retrying with the current tag is idempotent
+    client.put().uri("/orders/" + order.getId() + "/cancel")
+        .header("If-Match", newETag)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals("ETag", newETag);
+  }
+
+  @Test
+  void cancel_returns404_whenNotExists() {
+
+    // when & then
+    client.put().uri("/orders/9999/cancel")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void cancelBulk_reportsOutcomePerId_andPersistsChanges() {
+
+    // given
+    Order created = orderService.createOrder(new BigDecimal("10.00")).block();
+    Order alreadyCancelled = orderService.createOrder(new BigDecimal("20.00")).block();
+    orderService.cancelOrder(alreadyCancelled.getId()).block();
+
+    // when && then
+    client.post().uri("/orders/cancel")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{ \"ids\": [%d, %d, 9999, %d] }"
+            .formatted(created.getId(), alreadyCancelled.getId(), created.getId()))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(3)
+        .jsonPath("$[0].id").isEqualTo(created.getId())
+        .jsonPath("$[0].outcome").isEqualTo("CANCELLED")
+        .jsonPath("$[1].id").isEqualTo(alreadyCancelled.getId())
+        .jsonPath("$[1].outcome").isEqualTo("ALREADY_CANCELLED")
+        .jsonPath("$[2].id").isEqualTo(9999)
+        .jsonPath("$[2].outcome").isEqualTo("NOT_FOUND");
+
+    // and: verify persisted state via GET
+    client.get().uri("/orders/" + created.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.status").isEqualTo("CANCELLED");
+
+    assertThat(orderService.getOrder(created.getId()).block().getVersion()).isEqualTo(1L);
+  }
+
+  @Test
+  void listOrders_withoutPagingParams_usesDefaultSize20_andSortById() {
+
+    // given
+    // create 21 orders to prove default page size is 20
+    for (int i = 0; i < 21; i++) {
+      orderService.createOrder(new BigDecimal("10.00")).block();
+    }
+
+    // when && then
+    client.get().uri("/orders")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content.length()").isEqualTo(20)
+        .jsonPath("$.size").isEqualTo(20)
+        .jsonPath("$.number").isEqualTo(0);
+  }
+
+  @Test
+  void listOrders_withStatus_usesDefaultSize20() {
+
+    // given
+    Order o1 = orderService.createOrder(new BigDecimal("100.00")).block();
+    Order o2 = orderService.createOrder(new BigDecimal("50.00")).block();
+
+    client.put().uri("/orders/" + o2.getId() + "/cancel")
+        .exchange()
+        .expectStatus().isOk();
+
+    // when && then
+    client.get().uri(uri -> uri.path("/orders").queryParam("status", "CANCELLED").build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content.length()").isEqualTo(1)
+        .jsonPath("$.content[0].id").isEqualTo(o2.getId())
+        .jsonPath("$.content[0].status").isEqualTo("CANCELLED")
+        .jsonPath("$.size").isEqualTo(20)
+        .jsonPath("$.number").isEqualTo(0);
+  }
+
+  @Test
+  void listOrders_sortedByIdAscending() {
+
+    // given
+    Order o1 = orderService.createOrder(new BigDecimal("10.00")).block();
+    Order o2 = orderService.createOrder(new BigDecimal("20.00")).block();
+    Order o3 = orderService.createOrder(new BigDecimal("30.00")).block();
+
+    // when
+    byte[] json = client.get().uri("/orders")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .returnResult()
+        .getResponseBody();
+
+    // then
+    List<Long> ids =
+        jsonMapper.readTree(json)
+            .path("content")
+            .findValues("id")
+            .stream()
+            .map(JsonNode::asLong)
+            .toList();
+
+    assertThat(ids)
+        .hasSize(3)
+        .isSorted();
+  }
+
+  @Test
+  void listOrders_sortedByCreatedAtDescending_newestFirst() {
+
+    // given
+    Order o1 = orderService.createOrder(new BigDecimal("10.00")).block();
+    Order o2 = orderService.createOrder(new BigDecimal("20.00")).block();
+
+    // when
+    byte[] json = client.get().uri("/orders?sort=createdAt,desc")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .returnResult()
+        .getResponseBody();
+
+    // then
+    List<Long> ids =
+        jsonMapper.readTree(json)
+            .path("content")
+            .findValues("id")
+            .stream()
+            .map(JsonNode::asLong)
+            .toList();
+
+    assertThat(ids).containsExactly(o2.getId(), o1.getId());
+  }
+
+  @Test
+  void listOrders_sortedByUnindexedProperty_returns400() {
+
+    // given && when && then
+    client.get().uri("/orders?sort=totalAmount,desc")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void scrollOrders_walksAllOrders_inIdOrder() {
+
+    // given
+    for (int i = 0; i < 5; i++) {
+      orderService.createOrder(new BigDecimal("10.00")).block();
+    }
+
+    // when
+    List<Long> ids = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      String after = cursor;
+      JsonNode page = jsonMapper.readTree(client.get()
+          .uri(uri -> uri.path("/orders/scroll")
+              .queryParam("size", "2")
+              .queryParamIfPresent("after", Optional.ofNullable(after))
+              .build())
+          .exchange()
+          .expectStatus().isOk()
+          .expectBody()
+          .returnResult()
+          .getResponseBody());
+
+      page.path("content").findValues("id").forEach(id -> ids.add(id.asLong()));
+      cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asString();
+      pages++;
+    } while (cursor != null);
+
+    // then
+    assertThat(pages).isEqualTo(3);
+    assertThat(ids)
+        .hasSize(5)
+        .doesNotHaveDuplicates()
+        .isSorted();
+  }
+
+  @Test
+  void listOrders_withTotalNone_reportsNextPage_withoutTotals() {
+
+    // given
+    for (int i = 0; i < 3; i++) {
+      orderService.createOrder(new BigDecimal("10.00")).block();
+    }
+
+    // when && then
+    client.get().uri("/orders?total=none&size=2")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content.length()").isEqualTo(2)
+        .jsonPath("$.last").isEqualTo(false)
+        .jsonPath("$.totalElements").doesNotExist();
+
+    client.get().uri("/orders?total=none&size=2&page=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content.length()").isEqualTo(1)
+        .jsonPath("$.last").isEqualTo(true);
+  }
+
+  @Test
+  void listOrders_withTotalEstimated_returnsApproximateTotal() {
+
+    // given
+    for (int i = 0; i < 30; i++) {
+      Order order = orderService.createOrder(new BigDecimal("10.00")).block();
+      if (i % 3 == 0) {
+        orderService.cancelOrder(order.getId()).block();
+      }
+    }
+    databaseClient.sql("ANALYZE orders").then().block();
+
+    // when
+    JsonNode all = jsonMapper.readTree(client.get().uri("/orders?total=estimated")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content.length()").isEqualTo(20)
+        .jsonPath("$.hasNext").isEqualTo(true)
+        .returnResult()
+        .getResponseBody());
+
+    JsonNode cancelled = jsonMapper.readTree(client.get().uri("/orders?status=CANCELLED&total=estimated")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .returnResult()
+        .getResponseBody());
+
+    // then
+    assertThat(all.path("estimatedTotal").asLong()).isBetween(27L, 33L);
+    assertThat(cancelled.path("estimatedTotal").asLong()).isBetween(8L, 12L);
+  }
+
+  @Test
+  void exportOrders_streamsNdjson_filteredByStatusAndCreatedAt() {
+
+    // given
+    Order old = orderService.createOrder(new BigDecimal("10.00")).block();
+    Order cancelled = orderService.createOrder(new BigDecimal("20.00")).block();
+    Order created = orderService.createOrder(new BigDecimal("30.00")).block();
+    orderService.cancelOrder(cancelled.getId()).block();
+    databaseClient.sql("UPDATE orders SET created_at = TIMESTAMPTZ '2025-01-01 00:00:00Z' WHERE id = :id")
+        .bind("id", old.getId())
+        .then()
+        .block();
+
+    // when
+    List<Long> all = exportedIds("/orders/export");
+    List<Long> cancelledOnly = exportedIds("/orders/export?status=CANCELLED");
+    List<Long> since2026 = exportedIds("/orders/export?createdFrom=2026-01-01T00:00:00Z");
+    List<Long> before2026 = exportedIds("/orders/export?createdTo=2026-01-01T00:00:00Z");
+
+    // then
+    assertThat(all).containsExactly(old.getId(), cancelled.getId(), created.getId());
+    assertThat(cancelledOnly).containsExactly(cancelled.getId());
+    assertThat(since2026).containsExactly(cancelled.getId(), created.getId());
+    assertThat(before2026).containsExactly(old.getId());
+  }
+
+  @Test
+  void exportOrders_withInvalidCreatedFrom_returns400() {
+
+    // given && when && then
+    client.get().uri("/orders/export?createdFrom=yesterday")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  private List<Long> exportedIds(String uri) {
+    String body = client.get().uri(uri)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+
+    return body.lines()
+        .map(line -> jsonMapper.readTree(line).path("id").asLong())
+        .toList();
+  }
+}
@@ -0,0 +1,11 @@
+package com.order.management.ecsfargatereactive;
+
+import org.springframework.boot.SpringApplication;
+
+public class TestEcsFargateReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.from(EcsFargateReactiveApplication::main).with(TestcontainersConfiguration.class).run(args);
+	}
+
+}
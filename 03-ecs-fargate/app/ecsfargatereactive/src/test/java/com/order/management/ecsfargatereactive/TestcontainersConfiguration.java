@@ -0,0 +1,36 @@
+package com.order.management.ecsfargatereactive;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+	private static final PostgreSQLContainer POSTGRES =
+			new PostgreSQLContainer(DockerImageName.parse("postgres:18"));
+
+	@Bean
+	PostgreSQLContainer postgresContainer() {
+		return POSTGRES;
+	}
+
+	/**
+	 * The app talks R2DBC while Flyway migrates over JDBC, so both URLs point at the same container.
+	 */
+	@Bean
+	DynamicPropertyRegistrar postgresProperties(PostgreSQLContainer postgres) {
+		return registry -> {
+			registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+					postgres.getHost(), postgres.getFirstMappedPort(), postgres.getDatabaseName()));
+			registry.add("spring.r2dbc.username", postgres::getUsername);
+			registry.add("spring.r2dbc.password", postgres::getPassword);
+			registry.add("spring.flyway.url", postgres::getJdbcUrl);
+			registry.add("spring.flyway.user", postgres::getUsername);
+			registry.add("spring.flyway.password", postgres::getPassword);
+		};
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.order.management.ecsfargatereactive.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@TestConfiguration
+@Profile("test")
+@EnableWebFluxSecurity
+public class TestSecurityConfig {
+
+  @Bean
+  SecurityWebFilterChain testSecurityFilterChain(ServerHttpSecurity http) {
+    http
+        .csrf(csrf -> csrf.disable())
+        .authorizeExchange(auth -> auth.anyExchange().permitAll());
+    return http.build();
+  }
+}
@@ -129,7 +129,7 @@ export function loadConfig(app: cdk.App): OrdersAppConfig {
     adotImageTag: optionalString(app, "adotImageTag", "latest"),
 
     appPort: optionalNumber(app, "appPort", 8080),
-    healthCheckPath: optionalString(app, "healthCheckPath", "/actuator/health/readiness"),
+    healthCheckPath: optionalString(app, "healthCheckPath", "/readyz"),
 
     fargateServiceDesiredCount: optionalNumber(app, "fargateServiceDesiredCount", 2),
     fargateServiceHealthCheckGracePeriodSeconds: optionalNumber(app, "fargateServiceHealthCheckGracePeriodSeconds", 300),
@@ -128,7 +128,7 @@ export class EcsStack extends Stack {
       healthCheck: {
         command: [
           'CMD-SHELL',
-          'curl -f http://localhost:8080/actuator/health/liveness || exit 1',
+          'curl -f http://localhost:8080/livez || exit 1',
         ],
         interval: cdk.Duration.seconds(30),
         timeout: cdk.Duration.seconds(5),
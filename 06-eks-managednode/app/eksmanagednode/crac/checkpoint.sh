@@ -0,0 +1,35 @@
+#!/bin/sh
+# Creates the warmed checkpoint image from the CRaC-capable image (docker build -f Dockerfile.crac).
+#
+#   crac/checkpoint.sh <env-file> [secrets-dir]
+#
+# <env-file> holds the environment of the pods that will restore the image (SPRING_PROFILES_ACTIVE,
+# SPRING_DATASOURCE_URL, COGNITO_ISSUER_URI, ...) plus, optionally, CRAC_WARMUP_TOKEN and CRAC_WARMUP_SECONDS.
+# [secrets-dir] is mounted as /mnt/secrets-store, for the eks profile's database password.
+# Needs to reach the database and Cognito, so run it on a host in the VPC.
+set -e
+
+ENV_FILE=${1:?usage: $0 <env-file> [secrets-dir]}
+SECRETS_DIR=$2
+BASE_IMAGE=${BASE_IMAGE:-eksmanagednode:crac-base}
+IMAGE=${IMAGE:-eksmanagednode:crac}
+CONTAINER=eksmanagednode-checkpoint
+WORK_DIR=$(mktemp -d)
+
+docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+
+set -- --name "$CONTAINER" --network host --env-file "$ENV_FILE" -e CRAC_CHECKPOINT=true \
+  --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE
+if [ -n "$SECRETS_DIR" ]; then
+  set -- "$@" -v "$(cd "$SECRETS_DIR" && pwd):/mnt/secrets-store:ro"
+fi
+docker run "$@" "$BASE_IMAGE"
+
+# the checkpoint goes into a fresh layer on top of the base image, so the image does not keep the container's
+# environment with the warm-up token. The checkpoint itself is a dump of the JVM's memory: it holds the database
+# password, the environment the JVM ran with and whatever the warm-up left on the heap, so treat the image as a secret
+docker cp "$CONTAINER:/app/checkpoint" "$WORK_DIR/checkpoint"
+docker rm "$CONTAINER" > /dev/null
+printf 'FROM %s\nCOPY checkpoint /app/checkpoint\n' "$BASE_IMAGE" | docker build -t "$IMAGE" -f - "$WORK_DIR"
+rm -rf "$WORK_DIR"
+echo "checkpoint image: $IMAGE"
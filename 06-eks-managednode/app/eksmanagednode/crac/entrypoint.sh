@@ -0,0 +1,75 @@
+#!/bin/sh
+# Entrypoint of Dockerfile.crac.
+# - /app/checkpoint holds a checkpoint (image made by crac/checkpoint.sh): restore it.
+# - CRAC_CHECKPOINT=true: start, wait for readiness, warm up, write the checkpoint to /app/checkpoint and exit.
+# - otherwise: start normally.
+set -e
+
+CHECKPOINT_DIR=/app/checkpoint
+BASE_URL=http://localhost:8080
+
+if [ -n "$(ls -A "$CHECKPOINT_DIR")" ]; then
+  exec java -XX:CRaCRestoreFrom="$CHECKPOINT_DIR"
+fi
+
+if [ "$CRAC_CHECKPOINT" != "true" ]; then
+  exec java $JAVA_OPTS -jar /app/app.jar
+fi
+
+# the checkpoint is a dump of the JVM's memory, environment included: keep the warm-up token out of it
+env -u CRAC_WARMUP_TOKEN java -XX:CRaCCheckpointTo="$CHECKPOINT_DIR" $JAVA_OPTS -jar /app/app.jar &
+app=$!
+
+echo "[crac] waiting for readiness"
+timeout=${CRAC_READY_TIMEOUT_SECONDS:-180}
+until curl -fs "$BASE_URL/readyz" > /dev/null; do
+  timeout=$((timeout - 1))
+  if [ "$timeout" -le 0 ] || ! kill -0 "$app" 2> /dev/null; then
+    echo "[crac] application did not become ready" >&2
+    exit 1
+  fi
+  sleep 1
+done
+
+# Warm-up: read-only requests, so the checkpoint holds JIT-compiled code for the hot paths. Needs an access token of
+# an allowed app client; batches of 150 keep it below the default per-client read rate limit.
+if [ -n "$CRAC_WARMUP_TOKEN" ]; then
+  seconds=${CRAC_WARMUP_SECONDS:-60}
+  echo "[crac] warming up for ${seconds}s"
+  # the token goes to curl in config files, so it does not show up in the process list either
+  auth=$(mktemp)
+  batch=$(mktemp)
+  echo "header = \"Authorization: Bearer $CRAC_WARMUP_TOKEN\"" > "$auth"
+  {
+    cat "$auth"
+    echo "silent"
+    for id in $(curl -fs -K "$auth" "$BASE_URL/orders?size=50" | grep -o '"id":[0-9]*' | cut -d: -f2); do
+      echo "url = \"$BASE_URL/orders/$id\""
+      echo "output = /dev/null"
+    done
+    for i in $(seq 1 50); do
+      echo "url = \"$BASE_URL/orders?size=20\""
+      echo "output = /dev/null"
+      echo "url = \"$BASE_URL/orders/scroll?size=20\""
+      echo "output = /dev/null"
+    done
+  } > "$batch"
+  end=$(($(date +%s) + seconds))
+  while [ "$(date +%s)" -lt "$end" ]; do
+    curl -K "$batch" || true
+    sleep 1
+  done
+  rm -f "$auth" "$batch"
+else
+  echo "[crac] CRAC_WARMUP_TOKEN not set, checkpointing without warm-up traffic"
+fi
+
+echo "[crac] writing checkpoint"
+jcmd /app/app.jar JDK.checkpoint
+# the JVM exits once the checkpoint is written
+wait "$app" || true
+if [ -z "$(ls -A "$CHECKPOINT_DIR")" ]; then
+  echo "[crac] no checkpoint written" >&2
+  exit 1
+fi
+echo "[crac] checkpoint written"
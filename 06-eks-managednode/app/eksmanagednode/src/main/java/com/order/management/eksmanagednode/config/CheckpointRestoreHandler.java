@@ -0,0 +1,99 @@
+package com.order.management.eksmanagednode.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * The application's part of a CRaC checkpoint and restore (see {@code Dockerfile.crac}); without a CRaC JVM it is never
+ * called.
+ * <p>
+ * Spring stops every lifecycle bean before the checkpoint and starts it again after restore. That closes and reopens
+ * the writer pool ({@code HikariCheckpointRestoreLifecycle}) and the reader pool ({@link ReadReplicaConfig}), and
+ * restarts {@link RefreshingJwkSource}, which resolves the issuer metadata and fetches the JWKS again. This class adds:
+ * <ul>
+ *   <li>Clearing the MDC, so no request or trace id from the warm-up before the checkpoint is logged after
+ *   restore.</li>
+ *   <li>A check that the settings read once into beans are the same in the restored process. A pod restored with,
+ *   for example, another {@code COGNITO_ISSUER_URI} would otherwise keep validating tokens for the old user pool; it
+ *   refuses traffic instead, so it never becomes ready.</li>
+ * </ul>
+ */
+@Component
+public class CheckpointRestoreHandler implements Resource {
+
+  private static final Logger log = LoggerFactory.getLogger(CheckpointRestoreHandler.class);
+
+  /**
+   * Environment variables behind settings that are fixed when the context is built.
+   */
+  static final List<String> FIXED_AT_CHECKPOINT = List.of(
+      "SPRING_PROFILES_ACTIVE",
+      "SPRING_DATASOURCE_URL",
+      "SPRING_DATASOURCE_USERNAME",
+      "DB_READER_URL",
+      "COGNITO_ISSUER_URI",
+      "COGNITO_USER_POOL_CLIENT_ID");
+
+  private final ApplicationEventPublisher publisher;
+
+  private final UnaryOperator<String> environment;
+
+  private volatile Map<String, String> checkpointEnvironment;
+
+  @Autowired
+  public CheckpointRestoreHandler(ApplicationEventPublisher publisher) {
+    this(publisher, System::getenv);
+    // the global context only keeps a weak reference; the bean itself keeps this alive
+    Core.getGlobalContext().register(this);
+  }
+
+  CheckpointRestoreHandler(ApplicationEventPublisher publisher, UnaryOperator<String> environment) {
+    this.publisher = publisher;
+    this.environment = environment;
+  }
+
+  @Override
+  public void beforeCheckpoint(Context<? extends Resource> context) {
+    MDC.clear();
+    checkpointEnvironment = snapshot();
+    log.info("Writing checkpoint");
+  }
+
+  @Override
+  public void afterRestore(Context<? extends Resource> context) {
+    MDC.clear();
+    Map<String, String> restored = snapshot();
+    List<String> changed = FIXED_AT_CHECKPOINT.stream()
+        .filter(name -> !Objects.equals(checkpointEnvironment.get(name), restored.get(name)))
+        .toList();
+    if (changed.isEmpty()) {
+      log.info("Restored from checkpoint");
+      return;
+    }
+    log.error("Restored with settings that differ from the checkpoint, refusing traffic; create a new checkpoint, "
+        + "changed={}", changed);
+    AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+  }
+
+  private Map<String, String> snapshot() {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (String name : FIXED_AT_CHECKPOINT) {
+      values.put(name, environment.apply(name));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,114 @@
+package com.order.management.eksmanagednode.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds load before it reaches the database: at most {@link AdaptiveConcurrencyLimit adaptive limit} requests are in
+ * flight, and the rest are turned away at once with 503 and Retry-After instead of piling up on JDBC waits.
+ * <p>
+ * Requests are admitted by priority. Health checks are never limited, since shedding them would take a busy instance
+ * out of rotation. Cancels may use the whole limit. Lists, scrolls and exports, the most expensive and easiest to
+ * retry, are the first to be shed.
+ * <p>
+ * Runs after the HTTP observation filter, so shed requests still show up in {@code http.server.requests}. It sits in
+ * the security chain after authorization (see {@code SecurityConfig}), so a request turned away with 401 or 403 never
+ * takes a slot or feeds its quick response into the latency samples.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  enum Priority {
+    CRITICAL(Double.POSITIVE_INFINITY),
+    HIGH(1.0),
+    NORMAL(0.9),
+    LOW(0.7);
+
+    // fraction of the limit requests of this priority may fill
+    final double share;
+
+    Priority(double share) {
+      this.share = share;
+    }
+  }
+
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final AdaptiveConcurrencyLimit limit;
+
+  private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+  public ConcurrencyLimitFilter(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit) {
+    this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+    Gauge.builder("orders.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+        .description("Current adaptive limit on requests in flight")
+        .register(meterRegistry);
+    Gauge.builder("orders.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+        .description("Requests in flight that count against the limit")
+        .register(meterRegistry);
+    for (Priority priority : Priority.values()) {
+      rejected.put(priority, Counter.builder("orders.concurrency.rejected")
+          .description("Requests shed with 503 because the concurrency limit was reached")
+          .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+          .register(meterRegistry));
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    Priority priority = priorityOf(request.getMethod(), path);
+    if (priority == Priority.CRITICAL) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    int inFlight = limit.tryAcquire(priority.share);
+    if (inFlight < 0) {
+      rejected.get(priority).increment();
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      limit.release();
+      // an export streams for as long as the client keeps reading, which says nothing about server latency
+      if (!path.equals("/orders/export")) {
+        limit.onSample(System.nanoTime() - start, inFlight);
+      }
+    }
+  }
+
+  static Priority priorityOf(String method, String path) {
+    if (path.equals("/livez") || path.equals("/readyz") || path.startsWith("/actuator/health")) {
+      return Priority.CRITICAL;
+    }
+    if (path.startsWith("/orders") && path.endsWith("/cancel") && !method.equals("GET")) {
+      return Priority.HIGH;
+    }
+    if (method.equals("GET")
+        && (path.equals("/orders") || path.equals("/orders/scroll") || path.equals("/orders/export"))) {
+      return Priority.LOW;
+    }
+    return Priority.NORMAL;
+  }
+}
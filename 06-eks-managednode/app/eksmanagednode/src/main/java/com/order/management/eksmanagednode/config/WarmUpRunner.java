@@ -0,0 +1,267 @@
+package com.order.management.eksmanagednode.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.order.management.eksmanagednode.entity.Order;
+import com.order.management.eksmanagednode.enums.OrderStatus;
+import com.order.management.eksmanagednode.repository.OrderRepository;
+import com.order.management.eksmanagednode.web.dto.CreateOrderRequest;
+import com.order.management.eksmanagednode.web.dto.CreateOrdersBatchRequest;
+import com.order.management.eksmanagednode.web.dto.OrderResponse;
+import com.order.management.eksmanagednode.web.mapper.OrderMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Runs the hot paths of a request in-process before the application reports ready, so the first real requests after
+ * a rollout do not run interpreted code or wait for database connections.
+ * <p>
+ * Boot only switches readiness to accepting traffic once the application runners have completed, while liveness is
+ * already correct: {@code /readyz} answers 503 and {@code /livez} 200 for as long as this runs. Each iteration:
+ * <ul>
+ *   <li>hands the application's {@link JwtDecoder} a token that names one of the issuer's keys but is signed with a
+ *   synthetic one, so the token cache, the JWK lookup in {@link RefreshingJwkSource} and the RSA signature check run
+ *   exactly as for a request, and the token is rejected;</li>
+ *   <li>decodes a token signed with the synthetic key through a Nimbus decoder with the claim validators
+ *   {@link SecurityConfig} uses, since only a correctly signed token gets as far as its claims;</li>
+ *   <li>runs the queries behind {@code GET /orders/{id}} and {@code GET /orders/scroll} in a read-only transaction,
+ *   which also opens connections on the reader pool when there is one;</li>
+ *   <li>maps the orders with {@link OrderMapper}, writes them as JSON and reads them back, and reads the request
+ *   bodies of {@code POST /orders} and {@code POST /orders/batch}.</li>
+ * </ul>
+ * It stops after {@code orders.warm-up.iterations} iterations or {@code orders.warm-up.max-duration}, whichever comes
+ * first, and records how long it took as {@code orders.warm_up{stopped_by}}. A failing iteration ends the warm-up
+ * early; it never keeps the application from becoming ready.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+  private static final String ISSUER = "https://warm-up.invalid/issuer";
+
+  private static final String CLIENT_ID = "warm-up";
+
+  private static final int PAGE_SIZE = 20;
+
+  private static final String CREATE_REQUEST = """
+      { "totalAmount": 49.99 }""";
+
+  private static final String CREATE_BATCH_REQUEST = """
+      { "orders": [ { "totalAmount": 10.00 }, { "totalAmount": 20.00 }, { "totalAmount": 30.00 } ] }""";
+
+  private final JwtDecoder applicationJwtDecoder;
+
+  private final Supplier<String> issuerKeyId;
+
+  private final JsonMapper jsonMapper;
+
+  private final OrderRepository orderRepository;
+
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final MeterRegistry meterRegistry;
+
+  private final long maxIterations;
+
+  private final Duration maxDuration;
+
+  private final LongSupplier nanoClock;
+
+  @Autowired
+  public WarmUpRunner(JwtDecoder jwtDecoder, ObjectProvider<RefreshingJwkSource> jwkSource, JsonMapper jsonMapper,
+      OrderRepository orderRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      @Value("${orders.warm-up.iterations:5000}") long maxIterations,
+      @Value("${orders.warm-up.max-duration:20s}") Duration maxDuration) {
+    this(jwtDecoder, () -> issuerKeyId(jwkSource.getIfAvailable()), jsonMapper, orderRepository, transactionManager,
+        meterRegistry, maxIterations, maxDuration, System::nanoTime);
+  }
+
+  WarmUpRunner(JwtDecoder applicationJwtDecoder, Supplier<String> issuerKeyId, JsonMapper jsonMapper,
+      OrderRepository orderRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      long maxIterations, Duration maxDuration, LongSupplier nanoClock) {
+    this.applicationJwtDecoder = applicationJwtDecoder;
+    this.issuerKeyId = issuerKeyId;
+    this.jsonMapper = jsonMapper;
+    this.orderRepository = orderRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.meterRegistry = meterRegistry;
+    this.maxIterations = maxIterations;
+    this.maxDuration = maxDuration;
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("Warming up, maxIterations={}, maxDuration={}", maxIterations, maxDuration);
+    long start = nanoClock.getAsLong();
+    long iterations = 0;
+    long consumed = 0;
+    String stoppedBy = "iterations";
+    try {
+      KeyPair keyPair = rsaKeyPair();
+      JwtDecoder jwtDecoder = jwtDecoder((RSAPublicKey) keyPair.getPublic());
+      String token = token(keyPair, "warm-up");
+      // the keys are in place by now: the JWK source is started before the application runners
+      String rejectedToken = token(keyPair, issuerKeyId.get());
+
+      while (iterations < maxIterations) {
+        if (nanoClock.getAsLong() - start >= maxDuration.toNanos()) {
+          stoppedBy = "time";
+          break;
+        }
+        consumed += iteration(jwtDecoder, token, rejectedToken, iterations);
+        iterations++;
+      }
+    } catch (RuntimeException | JOSEException | NoSuchAlgorithmException ex) {
+      stoppedBy = "error";
+      log.warn("Warm-up failed, continuing startup, iterations={}", iterations, ex);
+    }
+
+    long took = nanoClock.getAsLong() - start;
+    Timer.builder("orders.warm_up")
+        .description("In-process warm-up before the application reports ready")
+        .tag("stopped_by", stoppedBy)
+        .register(meterRegistry)
+        .record(took, TimeUnit.NANOSECONDS);
+    Counter.builder("orders.warm_up.iterations")
+        .description("Warm-up iterations run before the application reported ready")
+        .register(meterRegistry)
+        .increment(iterations);
+    log.info("Warm-up done, iterations={}, took={} ms, stoppedBy={}, checksum={}",
+        iterations, TimeUnit.NANOSECONDS.toMillis(took), stoppedBy, consumed);
+  }
+
+  /**
+   * One pass over the hot paths; returns a value derived from every result, so none of the work can be optimized away.
+   */
+  private long iteration(JwtDecoder jwtDecoder, String token, String rejectedToken, long iteration) {
+    Jwt jwt = jwtDecoder.decode(token);
+    long consumed = jwt.getClaims().size();
+    try {
+      applicationJwtDecoder.decode(rejectedToken);
+    } catch (JwtException expected) {
+      // the forged signature, as intended
+      consumed++;
+    }
+
+    List<Order> orders = new ArrayList<>();
+    readOnlyTransaction.executeWithoutResult(status -> {
+      // a different row each time, so the lookup is not answered from the persistence context
+      orderRepository.findById(iteration % 1000 + 1).ifPresent(orders::add);
+      orders.addAll(orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(PAGE_SIZE)));
+    });
+    // the mapping and JSON paths run even on an empty database
+    orders.add(syntheticOrder(iteration));
+
+    for (Order order : orders) {
+      byte[] json = jsonMapper.writeValueAsBytes(OrderMapper.toResponse(order));
+      consumed += jsonMapper.readValue(json, OrderResponse.class).id();
+    }
+    consumed += jsonMapper.readValue(CREATE_REQUEST, CreateOrderRequest.class).totalAmount().scale();
+    consumed += jsonMapper.readValue(CREATE_BATCH_REQUEST, CreateOrdersBatchRequest.class).orders().size();
+    return consumed;
+  }
+
+  private static Order syntheticOrder(long id) {
+    Instant now = Instant.now();
+    Order order = new Order();
+    order.setId(id);
+    order.setStatus(OrderStatus.CREATED);
+    order.setTotalAmount(new BigDecimal("49.99"));
+    order.setCreatedAt(now);
+    order.setUpdatedAt(now);
+    return order;
+  }
+
+  private static KeyPair rsaKeyPair() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+
+  private static JwtDecoder jwtDecoder(RSAPublicKey publicKey) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+    decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+        JwtValidators.createDefaultWithIssuer(ISSUER),
+        new JwtClaimValidator<String>("token_use", "access"::equals),
+        new JwtClaimValidator<String>("client_id", CLIENT_ID::equals)));
+    return decoder;
+  }
+
+  /**
+   * The id of one of the issuer's RSA keys, or a made-up one if none has been loaded.
+   */
+  private static String issuerKeyId(RefreshingJwkSource jwkSource) {
+    if (jwkSource == null) {
+      return "warm-up";
+    }
+    List<JWK> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.RSA).build()), null);
+    return keys.isEmpty() || keys.getFirst().getKeyID() == null ? "warm-up" : keys.getFirst().getKeyID();
+  }
+
+  /**
+   * Shaped like a Cognito access token.
+   */
+  private static String token(KeyPair keyPair, String keyId) throws JOSEException {
+    Instant now = Instant.now();
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .issuer(ISSUER)
+        .subject(UUID.randomUUID().toString())
+        .claim("token_use", "access")
+        .claim("scope", "orders/read orders/write")
+        .claim("client_id", CLIENT_ID)
+        .jwtID(UUID.randomUUID().toString())
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+        .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), claims);
+    jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+    return jwt.serialize();
+  }
+}
@@ -1,6 +1,11 @@
 package com.order.management.eksmanagednode.web.advice;
 
 import com.order.management.eksmanagednode.service.exception.OrderNotFoundException;
+import com.order.management.eksmanagednode.service.exception.OrderVersionMismatchException;
+import com.order.management.eksmanagednode.web.cursor.InvalidCursorException;
+import com.order.management.eksmanagednode.web.etag.OrderETag;
+import com.order.management.eksmanagednode.web.sort.InvalidSortException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,4 +17,22 @@ public class ApiExceptionHandler {
   public ResponseEntity<Void> handleNotFound(OrderNotFoundException ex) {
     return ResponseEntity.notFound().build();
   }
+
+  @ExceptionHandler(OrderVersionMismatchException.class)
+  public ResponseEntity<Void> handleVersionMismatch(OrderVersionMismatchException ex) {
+    // the current tag lets the client re-read and retry without another round trip to find it
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+        .eTag(OrderETag.format(ex.getCurrentVersion()))
+        .build();
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Void> handleInvalidCursor(InvalidCursorException ex) {
+    return ResponseEntity.badRequest().build();
+  }
+
+  @ExceptionHandler(InvalidSortException.class)
+  public ResponseEntity<Void> handleInvalidSort(InvalidSortException ex) {
+    return ResponseEntity.badRequest().build();
+  }
 }
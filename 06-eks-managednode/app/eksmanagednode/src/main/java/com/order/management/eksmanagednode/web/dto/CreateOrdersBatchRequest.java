@@ -0,0 +1,22 @@
+package com.order.management.eksmanagednode.web.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CreateOrdersBatchRequest(
+
+    @ArraySchema(
+        arraySchema = @Schema(description = "Orders to create, at most " + MAX_ORDERS),
+        schema = @Schema(implementation = CreateOrderRequest.class)
+    )
+    @NotEmpty
+    @Size(max = MAX_ORDERS)
+    List<@NotNull @Valid CreateOrderRequest> orders) {
+
+  public static final int MAX_ORDERS = 1000;
+}
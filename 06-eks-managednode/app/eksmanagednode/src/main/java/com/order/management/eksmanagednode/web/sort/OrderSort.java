@@ -0,0 +1,51 @@
+package com.order.management.eksmanagednode.web.sort;
+
+import java.util.Set;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Restricts list sorting to orders an index can return without a sort step: {@code id}, backed by the primary key
+ * and {@code (status, id)}, and {@code createdAt}, backed by {@code (created_at, id)} and
+ * {@code (status, created_at, id)}.
+ * <p>
+ * {@code createdAt} is not unique, so {@code id} is appended as tie-breaker in the same direction; pages are then
+ * stable and the order matches the index, which can be scanned either way.
+ */
+public final class OrderSort {
+
+  private static final Set<String> ALLOWED = Set.of("id", "createdAt");
+
+  private OrderSort() {
+
+  }
+
+  public static Pageable indexed(Pageable pageable) {
+    Sort sort = pageable.getSort();
+    for (Sort.Order order : sort) {
+      if (!ALLOWED.contains(order.getProperty())) {
+        throw new InvalidSortException(order.getProperty() + " is not sortable; use one of " + ALLOWED);
+      }
+      if (order.isIgnoreCase()) {
+        throw new InvalidSortException(order.getProperty() + " cannot be sorted ignoring case");
+      }
+    }
+    if (sort.isUnsorted()) {
+      return pageable;
+    }
+
+    Sort.Order first = sort.iterator().next();
+    Sort.Direction direction = first.getDirection();
+    if (first.getProperty().equals("id")) {
+      // id is unique, anything after it never changes the order
+      return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "id"));
+    }
+
+    Sort.Order id = sort.getOrderFor("id");
+    if (id != null && id.getDirection() != direction) {
+      throw new InvalidSortException("createdAt and id must be sorted in the same direction");
+    }
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "createdAt", "id"));
+  }
+}
@@ -0,0 +1,4 @@
+-- Hibernate allocates ids in blocks of 50 from this sequence (pooled optimizer), which makes insert batching possible.
+-- Each nextval reserves the 50 ids up to and including the value returned, so the BIGSERIAL column default keeps
+-- working for inserts outside Hibernate: those just get the top id of their own block.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
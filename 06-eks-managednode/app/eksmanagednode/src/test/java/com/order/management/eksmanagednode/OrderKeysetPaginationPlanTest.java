@@ -0,0 +1,78 @@
+package com.order.management.eksmanagednode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.order.management.eksmanagednode.entity.Order;
+import com.order.management.eksmanagednode.enums.OrderStatus;
+import com.order.management.eksmanagednode.service.OrderService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Checks that a keyset page deep into the table is an index range scan, so it costs about the same as the first one.
+ * The orders are seeded once for the class; the latency comparison itself is {@code OrderKeysetPaginationBenchmark}.
+ */
+@Sql(scripts = {"/sql/cleanup_test_data.sql", "/sql/keyset_pagination_orders.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/sql/cleanup_test_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderKeysetPaginationPlanTest {
+
+  private static final int PAGE_SIZE = 50;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void keysetPage_deepIntoTable_isIndexRangeScan() {
+
+    // given
+    Long afterId = idAtOffset(90_000);
+
+    // when
+    List<Order> page = orderService.getOrdersAfter(null, afterId, PAGE_SIZE);
+    String plan = explain("SELECT * FROM orders WHERE id > ? ORDER BY id LIMIT ?", afterId, PAGE_SIZE);
+
+    // then
+    assertThat(page).hasSize(PAGE_SIZE);
+    assertThat(page.getFirst().getId()).isGreaterThan(afterId);
+    assertThat(plan).contains("Index Scan using orders_pkey", "Index Cond: (id >").doesNotContain("Sort", "Seq Scan");
+  }
+
+  @Test
+  void keysetPageByStatus_deepIntoTable_isIndexRangeScan() {
+
+    // given
+    Long afterId = idAtOffset(90_000);
+
+    // when
+    List<Order> page = orderService.getOrdersAfter(OrderStatus.CANCELLED, afterId, PAGE_SIZE);
+    String plan = explain("SELECT * FROM orders WHERE status = ? AND id > ? ORDER BY id LIMIT ?",
+        OrderStatus.CANCELLED.name(), afterId, PAGE_SIZE);
+
+    // then
+    assertThat(page).hasSize(PAGE_SIZE).allMatch(order -> order.getStatus() == OrderStatus.CANCELLED);
+    assertThat(page.getFirst().getId()).isGreaterThan(afterId);
+    assertThat(plan).contains("orders_status_id_idx", "Index Cond:").doesNotContain("Sort", "Seq Scan");
+  }
+
+  private Long idAtOffset(int offset) {
+    return jdbcTemplate.queryForObject("SELECT id FROM orders ORDER BY id OFFSET ? LIMIT 1", Long.class, offset);
+  }
+
+  // the same statements Spring Data derives for OrderRepository's keyset queries
+  private String explain(String sql, Object... args) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+  }
+}
@@ -0,0 +1,61 @@
+package com.order.management.eksmanagednode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.order.management.eksmanagednode.config.TestSecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class OrderMetricsIntegrationTest extends AbstractEksManagednodeApplicationTests {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void orderOperations_areTimed_perOperationAndOutcome() throws Exception {
+
+    // given
+    mvc.perform(post("/orders")
+            .contentType("application/json")
+            .content("{ \"totalAmount\": 10.00 }"))
+        .andExpect(status().isCreated());
+
+    // when
+    mvc.perform(get("/orders/999999"))
+        .andExpect(status().isNotFound());
+
+    // then
+    assertThat(meterRegistry.get("orders.operation")
+        .tags("operation", "create", "outcome", "success")
+        .timer()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.operation")
+        .tags("operation", "get", "outcome", "not_found")
+        .timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void poolHibernateAndJvmMeters_areRegistered() {
+
+    // when && then
+    assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "writer").gauge()).isNotNull();
+    assertThat(meterRegistry.find("hikaricp.connections.pending").tag("pool", "writer").gauge()).isNotNull();
+    assertThat(meterRegistry.find("hibernate.statements").meters()).isNotEmpty();
+    assertThat(meterRegistry.find("jvm.gc.max.data.size").meters()).isNotEmpty();
+  }
+}
@@ -0,0 +1,146 @@
+package com.order.management.eksmanagednode.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final JwtDecoder delegate = mock(JwtDecoder.class);
+
+  private final Clock clock = mock(Clock.class);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CachingJwtDecoder decoder =
+      new CachingJwtDecoder(delegate, 10, Duration.ofMinutes(5), meterRegistry, clock);
+
+  @BeforeEach
+  void setUp() {
+    when(clock.instant()).thenReturn(NOW);
+  }
+
+  @Test
+  void decode_sameTokenAgain_skipsValidation() {
+
+    // given
+    Jwt jwt = jwt("token-a", NOW.plusSeconds(3600));
+    when(delegate.decode("token-a")).thenReturn(jwt);
+
+    // when
+    Jwt first = decoder.decode("token-a");
+    Jwt second = decoder.decode("token-a");
+
+    // then
+    assertThat(first).isSameAs(jwt);
+    assertThat(second).isSameAs(jwt);
+    verify(delegate, times(1)).decode("token-a");
+    assertThat(meterRegistry.get("orders.jwt.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void decode_afterExp_validatesAgain() {
+
+    // given
+    when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(60)));
+    decoder.decode("token-a");
+
+    // when
+    when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+    decoder.decode("token-a");
+
+    // then
+    verify(delegate, times(2)).decode("token-a");
+  }
+
+  @Test
+  void decode_afterMaxTtl_validatesAgain_evenIfNotExpired() {
+
+    // given
+    when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(3600)));
+    decoder.decode("token-a");
+
+    // when
+    when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(4)));
+    decoder.decode("token-a");
+    when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+    decoder.decode("token-a");
+
+    // then
+    verify(delegate, times(2)).decode("token-a");
+  }
+
+  @Test
+  void decode_expiresEachTokenOnItsOwnExp() {
+
+    // given
+    when(delegate.decode("short")).thenReturn(jwt("short", NOW.plusSeconds(30)));
+    when(delegate.decode("long")).thenReturn(jwt("long", NOW.plusSeconds(3600)));
+    decoder.decode("short");
+    decoder.decode("long");
+
+    // when
+    when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+    decoder.decode("short");
+    decoder.decode("long");
+
+    // then
+    verify(delegate, times(2)).decode("short");
+    verify(delegate, times(1)).decode("long");
+  }
+
+  @Test
+  void decode_rejectedToken_isNotCached() {
+
+    // given
+    when(delegate.decode("forged")).thenThrow(new BadJwtException("bad signature"));
+
+    // when && then
+    assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+    assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+    verify(delegate, times(2)).decode("forged");
+  }
+
+  @Test
+  void cache_staysBounded() {
+
+    // given
+    when(delegate.decode(anyString()))
+        .thenAnswer(invocation -> jwt(invocation.getArgument(0), NOW.plusSeconds(3600)));
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      decoder.decode("token-" + i);
+    }
+
+    // then
+    assertThat(meterRegistry.get("orders.jwt.cache.size").gauge().value()).isLessThanOrEqualTo(10);
+  }
+
+  private static Jwt jwt(String token, Instant expiresAt) {
+    return Jwt.withTokenValue(token)
+        .header("alg", "RS256")
+        .claim("client_id", "integration-a")
+        .issuedAt(NOW.minusSeconds(10))
+        .expiresAt(expiresAt)
+        .build();
+  }
+}
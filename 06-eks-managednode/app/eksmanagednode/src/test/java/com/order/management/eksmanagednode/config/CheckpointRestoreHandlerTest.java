@@ -0,0 +1,94 @@
+package com.order.management.eksmanagednode.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+class CheckpointRestoreHandlerTest {
+
+  private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+  private final Map<String, String> environment = new HashMap<>(Map.of(
+      "SPRING_PROFILES_ACTIVE", "eks",
+      "SPRING_DATASOURCE_URL", "jdbc:postgresql://writer:5432/ordersdb",
+      "COGNITO_ISSUER_URI", "https://cognito-idp.eu-west-1.amazonaws.com/eu-west-1_a"));
+
+  private final CheckpointRestoreHandler handler = new CheckpointRestoreHandler(publisher, environment::get);
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  void afterRestore_sameSettings_keepsReadiness() {
+
+    // given
+    handler.beforeCheckpoint(null);
+
+    // when
+    handler.afterRestore(null);
+
+    // then
+    verify(publisher, never()).publishEvent(any(ApplicationEvent.class));
+  }
+
+  @Test
+  void afterRestore_otherIssuer_refusesTraffic() {
+
+    // given
+    handler.beforeCheckpoint(null);
+    environment.put("COGNITO_ISSUER_URI", "https://cognito-idp.eu-west-1.amazonaws.com/eu-west-1_b");
+
+    // when
+    handler.afterRestore(null);
+
+    // then
+    ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+    verify(publisher).publishEvent(event.capture());
+    assertThat(event.getValue()).isInstanceOf(AvailabilityChangeEvent.class);
+    assertThat(((AvailabilityChangeEvent<?>) event.getValue()).getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+  }
+
+  @Test
+  void afterRestore_readerAdded_refusesTraffic() {
+
+    // given
+    handler.beforeCheckpoint(null);
+    environment.put("DB_READER_URL", "jdbc:postgresql://reader:5432/ordersdb");
+
+    // when
+    handler.afterRestore(null);
+
+    // then
+    verify(publisher).publishEvent(any(AvailabilityChangeEvent.class));
+  }
+
+  @Test
+  void checkpointAndRestore_clearMdc() {
+
+    // given
+    MDC.put(RequestIdFilter.MDC_KEY, "warm-up-request");
+
+    // when
+    handler.beforeCheckpoint(null);
+    MDC.put("traceId", "warm-up-trace");
+    handler.afterRestore(null);
+
+    // then
+    assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+  }
+}
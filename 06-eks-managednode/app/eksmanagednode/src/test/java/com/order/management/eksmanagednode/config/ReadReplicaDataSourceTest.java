@@ -0,0 +1,281 @@
+package com.order.management.eksmanagednode.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadReplicaDataSourceTest {
+
+  private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), 100);
+
+  private Connection writerConnection;
+
+  private Connection readerConnection;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate readOnly;
+
+  private TransactionTemplate readWrite;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    writerConnection = mockConnection();
+    readerConnection = mockConnection();
+
+    ReadReplicaDataSource dataSource =
+        new ReadReplicaDataSource(mockDataSource(writerConnection), mockDataSource(readerConnection));
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    readWrite = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransaction_usesReader() throws SQLException {
+
+    // when
+    readOnly.executeWithoutResult(status -> runStatement());
+
+    // then
+    verify(readerConnection).createStatement();
+    verify(writerConnection, never()).createStatement();
+  }
+
+  @Test
+  void readWriteTransaction_usesWriter() throws SQLException {
+
+    // when
+    readWrite.executeWithoutResult(status -> runStatement());
+
+    // then
+    verify(writerConnection).createStatement();
+    verify(readerConnection, never()).createStatement();
+  }
+
+  @Test
+  void readOnlyTransaction_withPinCookie_usesWriter() throws Exception {
+
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/1");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1"));
+
+    // when
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(readingServlet()));
+
+    // then
+    verify(writerConnection).createStatement();
+    verify(readerConnection, never()).createStatement();
+  }
+
+  @Test
+  void readOnlyTransaction_afterWriteBySameClient_withoutCookie_usesWriter() throws Exception {
+
+    // given
+    authenticateAs("integration-a");
+    filter.doFilter(new MockHttpServletRequest("PUT", "/orders/1/cancel"), new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), new MockHttpServletResponse(),
+        new MockFilterChain(readingServlet()));
+
+    // then
+    verify(writerConnection).createStatement();
+    verify(readerConnection, never()).createStatement();
+  }
+
+  @Test
+  void readOnlyTransaction_afterWriteByOtherClient_usesReader() throws Exception {
+
+    // given
+    authenticateAs("integration-a");
+    filter.doFilter(new MockHttpServletRequest("PUT", "/orders/1/cancel"), new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    // when
+    authenticateAs("integration-b");
+    filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), new MockHttpServletResponse(),
+        new MockFilterChain(readingServlet()));
+
+    // then
+    verify(readerConnection).createStatement();
+    verify(writerConnection, never()).createStatement();
+  }
+
+  @Test
+  void readOnlyTransaction_afterFailedWriteBySameClient_usesReader() throws Exception {
+
+    // given
+    authenticateAs("integration-a");
+    filter.doFilter(new MockHttpServletRequest("PUT", "/orders/1/cancel"), new MockHttpServletResponse(),
+        new MockFilterChain(new HttpServlet() {
+          @Override
+          protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+            res.sendError(HttpServletResponse.SC_CONFLICT);
+          }
+        }));
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), new MockHttpServletResponse(),
+        new MockFilterChain(readingServlet()));
+
+    // then
+    verify(readerConnection).createStatement();
+    verify(writerConnection, never()).createStatement();
+  }
+
+  @Test
+  void write_setsPinCookie_forTheWindow() throws Exception {
+
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("PUT", "/orders/1/cancel"), response, new MockFilterChain());
+
+    // then
+    Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertThat(cookie).isNotNull();
+    assertThat(cookie.getMaxAge()).isEqualTo(5);
+  }
+
+  @Test
+  void write_withBody_setsPinCookieBeforeTheBody() throws Exception {
+
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("POST", "/orders"), response, new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        res.setStatus(HttpServletResponse.SC_CREATED);
+        res.getWriter().write("{}");
+        res.flushBuffer();
+      }
+    }));
+
+    // then
+    assertThat(response.isCommitted()).isTrue();
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+  }
+
+  @Test
+  void failedWrite_doesNotSetPinCookie() throws Exception {
+
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("PUT", "/orders/1/cancel"), response, new MockFilterChain(
+        new HttpServlet() {
+          @Override
+          protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+            res.setStatus(HttpServletResponse.SC_CONFLICT);
+            res.getWriter().write("{}");
+          }
+        }));
+
+    // then
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+  }
+
+  @Test
+  void shedWrite_doesNotSetPinCookie() throws Exception {
+
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("POST", "/orders"), response, new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        res.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      }
+    }));
+
+    // then
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+  }
+
+  @Test
+  void read_doesNotSetPinCookie() throws Exception {
+
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), response, new MockFilterChain());
+
+    // then
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+  }
+
+  private HttpServlet readingServlet() {
+    return new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse res) {
+        readOnly.executeWithoutResult(status -> runStatement());
+      }
+    };
+  }
+
+  private static void authenticateAs(String clientId) {
+    Jwt jwt = Jwt.withTokenValue("token-" + clientId)
+        .header("alg", "RS256")
+        .claim("client_id", clientId)
+        .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+
+  // the proxy only picks a target once the connection is actually used
+  private void runStatement() {
+    jdbcTemplate.execute((Statement statement) -> null);
+  }
+
+  private static Connection mockConnection() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    return connection;
+  }
+
+  private static DataSource mockDataSource(Connection connection) throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    return dataSource;
+  }
+}
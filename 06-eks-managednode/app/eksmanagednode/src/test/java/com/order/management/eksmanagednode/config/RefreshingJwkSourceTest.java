@@ -0,0 +1,101 @@
+package com.order.management.eksmanagednode.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Status;
+
+class RefreshingJwkSourceTest {
+
+  private HttpServer issuerServer;
+
+  private String issuer;
+
+  private volatile String jwks;
+
+  private RefreshingJwkSource jwkSource;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    issuerServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    issuer = "http://127.0.0.1:" + issuerServer.getAddress().getPort() + "/pool";
+    issuerServer.createContext("/pool/.well-known/openid-configuration", exchange -> respond(exchange,
+        "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/.well-known/jwks.json\"}"));
+    issuerServer.createContext("/pool/.well-known/jwks.json", exchange -> respond(exchange, jwks));
+    issuerServer.start();
+    jwkSource = new RefreshingJwkSource(issuer, Duration.ofMinutes(5), Duration.ofMillis(50));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (jwkSource.isRunning()) {
+      jwkSource.stop();
+    }
+    issuerServer.stop(0);
+  }
+
+  @Test
+  void start_keysLoaded_isUp() throws JOSEException {
+
+    // given
+    jwks = signingKeys();
+
+    // when
+    jwkSource.start();
+
+    // then
+    assertThat(jwkSource.health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  @Test
+  void start_jwksUnavailable_isOutOfServiceUntilKeysLoad() throws Exception {
+
+    // given
+    jwks = null;
+
+    // when
+    jwkSource.start();
+
+    // then
+    assertThat(jwkSource.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+    // when
+    jwks = signingKeys();
+
+    // then
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (jwkSource.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(jwkSource.health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  private static String signingKeys() throws JOSEException {
+    return new JWKSet(new RSAKeyGenerator(2048).keyID("key-1").generate().toPublicJWK()).toString();
+  }
+
+  private static void respond(HttpExchange exchange, String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+}
@@ -0,0 +1,113 @@
+package com.order.management.eksmanagednode.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.order.management.eksmanagednode.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+class WarmUpRunnerTest {
+
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+  private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+  private final JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @Test
+  void run_stopsAfterIterationBudget() {
+
+    // given
+    WarmUpRunner runner = runner(25, Duration.ofMinutes(1));
+
+    // when
+    runner.run(null);
+
+    // then
+    verify(orderRepository, times(25)).findById(anyLong());
+    verify(orderRepository, times(25)).findByIdGreaterThanOrderByIdAsc(any(), any());
+    verify(jwtDecoder, times(25)).decode(anyString());
+    assertThat(meterRegistry.get("orders.warm_up").tag("stopped_by", "iterations").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.warm_up.iterations").counter().count()).isEqualTo(25);
+  }
+
+  @Test
+  void run_stopsAtTimeBudget() {
+
+    // given
+    when(orderRepository.findById(anyLong())).thenAnswer(invocation -> {
+      nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+      return Optional.empty();
+    });
+    WarmUpRunner runner = runner(1000, Duration.ofSeconds(3));
+
+    // when
+    runner.run(null);
+
+    // then
+    verify(orderRepository, times(3)).findById(anyLong());
+    assertThat(meterRegistry.get("orders.warm_up").tag("stopped_by", "time").timer()
+        .totalTime(TimeUnit.SECONDS)).isEqualTo(3);
+    assertThat(meterRegistry.get("orders.warm_up.iterations").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void run_tokenRejectedByApplicationDecoder_keepsWarmingUp() {
+
+    // given
+    when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("Signed JWT rejected: Invalid signature"));
+    WarmUpRunner runner = runner(10, Duration.ofMinutes(1));
+
+    // when
+    runner.run(null);
+
+    // then
+    verify(jwtDecoder, times(10)).decode(anyString());
+    assertThat(meterRegistry.get("orders.warm_up").tag("stopped_by", "iterations").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.warm_up.iterations").counter().count()).isEqualTo(10);
+  }
+
+  @Test
+  void run_failingQuery_endsWarmUpWithoutFailingStartup() {
+
+    // given
+    when(orderRepository.findById(anyLong()))
+        .thenReturn(Optional.empty())
+        .thenThrow(new DataAccessResourceFailureException("connection refused"));
+    WarmUpRunner runner = runner(1000, Duration.ofMinutes(1));
+
+    // when
+    runner.run(null);
+
+    // then
+    verify(orderRepository, times(2)).findById(anyLong());
+    assertThat(meterRegistry.get("orders.warm_up").tag("stopped_by", "error").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("orders.warm_up.iterations").counter().count()).isEqualTo(1);
+  }
+
+  private WarmUpRunner runner(long maxIterations, Duration maxDuration) {
+    return new WarmUpRunner(jwtDecoder, () -> "issuer-key", JsonMapper.builder().build(), orderRepository,
+        transactionManager, meterRegistry, maxIterations, maxDuration, nanoTime::get);
+  }
+}
@@ -0,0 +1,4 @@
+INSERT INTO orders (status, total_amount)
+SELECT CASE WHEN g % 10 = 0 THEN 'CANCELLED' ELSE 'CREATED' END, (g % 1000) + 0.99
+FROM generate_series(1, 1000000) AS g;
+ANALYZE orders;
@@ -33,6 +33,8 @@ export type OrdersAppConfig = {
   namespace: string;
   appName: string;
   appImageTag: string;
+  // the image restores a CRaC checkpoint (crac/checkpoint.sh), which needs extra container capabilities
+  appCheckpointRestore: boolean;
   adotImageTag: string;
   appPort: number;
   healthCheckPath: string;
@@ -126,9 +128,10 @@ export function loadConfig(app: cdk.App): OrdersAppConfig {
     namespace: optionalString(app, "namespace", "orders"),
     appName: optionalString(app, "appName", "orders-app"),
     appImageTag: optionalString(app, "appImageTag", "latest"),
+    appCheckpointRestore: optionalBool(app, "appCheckpointRestore", false),
     adotImageTag: optionalString(app, "adotImageTag", "latest"),
     appPort: optionalNumber(app, "appPort", 8080),
-    healthCheckPath: optionalString(app, "healthCheckPath", "/actuator/health/readiness"),
+    healthCheckPath: optionalString(app, "healthCheckPath", "/readyz"),
 
     podReplicas: optionalNumber(app, "podReplicas", 2),
     podMinReplicas: optionalNumber(app, "podMinReplicas", 2),
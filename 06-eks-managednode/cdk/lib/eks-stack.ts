@@ -628,7 +628,11 @@ export class EksStack extends Stack {
                     readOnly: true,
                   },
                 ],
-                ports: [{ containerPort: config.appPort }],
+                ports: [
+                  { containerPort: config.appPort },
+                  // actuator (Prometheus scrape); not exposed through the load balancer
+                  { name: "management", containerPort: 8081 },
+                ],
                 env: [
                   { name: "SPRING_PROFILES_ACTIVE", value: "eks" },
                   { name: "SPRING_DATASOURCE_URL", value: jdbcUrl },
@@ -641,15 +645,20 @@ export class EksStack extends Stack {
                   requests: { cpu: config.podCpuRequest, memory: config.podMemoryRequest },
                   limits: { cpu: config.podCpuLimit, memory: config.podMemoryLimit },
                 },
+                // CRIU restores the checkpointed JVM process
+                ...(config.appCheckpointRestore
+                  ? { securityContext: { capabilities: { add: ["CHECKPOINT_RESTORE", "SYS_PTRACE"] } } }
+                  : {}),
                 readinessProbe: {
                   httpGet: { path: config.healthCheckPath, port: config.appPort },
-                  initialDelaySeconds: 30,
+                  // a restored pod is ready within a second
+                  initialDelaySeconds: config.appCheckpointRestore ? 1 : 30,
                   periodSeconds: 10,
                   timeoutSeconds: 5,
                   failureThreshold: 6,
                 },
                 livenessProbe: {
-                  httpGet: { path: "/actuator/health/liveness", port: config.appPort },
+                  httpGet: { path: "/livez", port: config.appPort },
                   initialDelaySeconds: 60,
                   periodSeconds: 30,
                   timeoutSeconds: 5,